@@ -1,20 +1,24 @@
 package com.example.backend;
 
+import com.example.backend.config.CountingCallerRunsPolicy;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @SpringBootApplication
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -27,12 +31,57 @@ public class BackendApplication {
 	}
 	
 	@Bean
-	public Executor taskExecutor() {
+	public CountingCallerRunsPolicy taskRejectionPolicy() {
+		return new CountingCallerRunsPolicy();
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor taskExecutor(CountingCallerRunsPolicy taskRejectionPolicy) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(4);
+		executor.setMaxPoolSize(10);
+		executor.setQueueCapacity(25);
+		executor.setThreadNamePrefix("Async-");
+		// A full queue pushes work back onto the caller rather than failing the request
+		executor.setRejectedExecutionHandler(taskRejectionPolicy);
+		executor.initialize();
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor mediaProcessingExecutor() {
 		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 		executor.setCorePoolSize(4);
 		executor.setMaxPoolSize(10);
 		executor.setQueueCapacity(25);
 		executor.setThreadNamePrefix("MediaProcessor-");
+		// Default abort policy: a full queue rejects, and the asset stays PROCESSING for a later retry
+		executor.initialize();
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor postDetailExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(4);
+		executor.setMaxPoolSize(16);
+		executor.setQueueCapacity(100);
+		executor.setThreadNamePrefix("PostDetail-");
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.initialize();
+		return executor;
+	}
+	
+	@Bean
+	public ThreadPoolTaskExecutor liveUpdateExecutor(@Value("${live.executor.max-threads:64}") int maxThreads) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		// No queue: each drain gets its own thread, so a client stuck in a socket write
+		// only holds its own thread. When all are busy, submission is rejected and the
+		// events wait in the subscriber's buffer until the next heartbeat retries.
+		executor.setCorePoolSize(8);
+		executor.setMaxPoolSize(maxThreads);
+		executor.setQueueCapacity(0);
+		executor.setThreadNamePrefix("LiveUpdate-");
 		executor.initialize();
 		return executor;
 	}
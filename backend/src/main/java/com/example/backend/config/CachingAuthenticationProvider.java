@@ -0,0 +1,51 @@
+package com.example.backend.config;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import com.example.backend.service.AuthenticationCacheService;
+
+/**
+ * Wraps the DAO provider so that a successful username/password check is reused
+ * for subsequent requests carrying the same Basic credentials until it expires
+ * or is evicted.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+        private final AuthenticationProvider delegate;
+        private final AuthenticationCacheService authenticationCache;
+
+        public CachingAuthenticationProvider(AuthenticationProvider delegate,
+                        AuthenticationCacheService authenticationCache) {
+                this.delegate = delegate;
+                this.authenticationCache = authenticationCache;
+        }
+
+        @Override
+        public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+                String username = authentication.getName();
+                Object credentials = authentication.getCredentials();
+                if (username == null || !(credentials instanceof String)) {
+                        return delegate.authenticate(authentication);
+                }
+
+                String password = (String) credentials;
+                Authentication cached = authenticationCache.get(username, password);
+                if (cached != null) {
+                        return cached;
+                }
+
+                Authentication result = delegate.authenticate(authentication);
+                if (result != null && result.isAuthenticated()) {
+                        authenticationCache.put(username, password, result);
+                }
+                return result;
+        }
+
+        @Override
+        public boolean supports(Class<?> authentication) {
+                return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+        }
+}
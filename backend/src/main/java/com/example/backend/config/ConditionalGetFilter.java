@@ -0,0 +1,99 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.service.ContentVersionService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Conditional GET for the polled post, comment and feed endpoints. The ETag comes from
+ * {@link ContentVersionService}, so a matching If-None-Match is answered with 304 before
+ * the controller, repositories or author enrichment run.
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+        private static final Pattern POST = Pattern.compile("^/api/posts/([^/]+)$");
+        private static final Pattern POST_COMMENTS = Pattern.compile("^/api/comments/post/([^/]+)(/page)?$");
+        private static final Pattern FEED = Pattern.compile("^/api/posts(/user/[^/]+)?$");
+
+        private final ContentVersionService contentVersionService;
+
+        public ConditionalGetFilter(ContentVersionService contentVersionService) {
+                this.contentVersionService = contentVersionService;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                        FilterChain filterChain) throws ServletException, IOException {
+                String etag = etagFor(request.getRequestURI().substring(request.getContextPath().length()),
+                                request.getParameter("include"));
+                if (etag == null) {
+                        filterChain.doFilter(request, response);
+                        return;
+                }
+
+                // Computed before the body, so the body is never older than its validator
+                response.setHeader(HttpHeaders.ETAG, etag);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+                if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                        return;
+                }
+                filterChain.doFilter(request, response);
+        }
+
+        private String etagFor(String path, String include) {
+                if (FEED.matcher(path).matches()) {
+                        return contentVersionService.feedEtag();
+                }
+                Matcher comments = POST_COMMENTS.matcher(path);
+                if (comments.matches()) {
+                        return contentVersionService.commentsEtag(comments.group(1));
+                }
+                Matcher post = POST.matcher(path);
+                // The home feed depends on asynchronous timeline fan-out and is not versioned, and the
+                // post version does not cover the viewer's own reaction
+                if (post.matches() && !"home".equals(post.group(1)) && !"live".equals(post.group(1))
+                                && !includesViewer(include)) {
+                        return contentVersionService.postEtag(post.group(1));
+                }
+                return null;
+        }
+
+        private boolean includesViewer(String include) {
+                return include != null && include.toLowerCase().contains("viewer");
+        }
+
+        private boolean matches(String ifNoneMatch, String etag) {
+                if (ifNoneMatch == null) {
+                        return false;
+                }
+                for (String candidate : ifNoneMatch.split(",")) {
+                        String tag = candidate.trim();
+                        if (tag.startsWith("W/")) {
+                                tag = tag.substring(2);
+                        }
+                        if (tag.equals(etag)) {
+                                return true;
+                        }
+                }
+                return false;
+        }
+}
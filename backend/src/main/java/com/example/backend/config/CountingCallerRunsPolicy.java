@@ -0,0 +1,30 @@
+package com.example.backend.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Runs a rejected task on the submitting thread once the executor queue is full,
+ * which slows producers down instead of dropping work, and counts how often that happens.
+ */
+public class CountingCallerRunsPolicy implements RejectedExecutionHandler {
+    private static final Logger logger = Logger.getLogger(CountingCallerRunsPolicy.class.getName());
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        long rejected = rejectedCount.incrementAndGet();
+        if (executor.isShutdown()) {
+            logger.warning("Executor shut down, dropping task (" + rejected + " rejected so far)");
+            return;
+        }
+        task.run();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+import com.example.backend.service.GoogleCertsKeySource;
+import com.example.backend.service.GooglePublicKeySource;
+import com.example.backend.service.StaticGoogleKeySource;
+
+@Configuration
+public class GoogleAuthConfig {
+
+    /**
+     * Google's live certs by default. Point google.oauth.certs-location at a local
+     * certs JSON file (file: or classpath:) to verify against a stand-in key set offline.
+     */
+    @Bean
+    public GooglePublicKeySource googlePublicKeySource(
+            @Value("${google.oauth.certs-location:}") String certsLocation,
+            ResourceLoader resourceLoader)
+            throws IOException, GeneralSecurityException {
+        if (certsLocation != null && !certsLocation.isEmpty()) {
+            return StaticGoogleKeySource.fromResource(resourceLoader.getResource(certsLocation));
+        }
+        return new GoogleCertsKeySource();
+    }
+}
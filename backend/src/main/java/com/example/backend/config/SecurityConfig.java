@@ -5,6 +5,7 @@ import java.util.Arrays;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -14,11 +15,14 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.backend.service.AuthenticationCacheService;
 import com.example.backend.service.CustomUserDetailsService;
+import com.example.backend.service.TokenService;
 
 @Configuration
 @EnableWebSecurity
@@ -30,16 +34,19 @@ public class SecurityConfig {
         }
 
         @Bean
-        public DaoAuthenticationProvider authenticationProvider() {
+        public AuthenticationProvider authenticationProvider(AuthenticationCacheService authenticationCache) {
                 DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
                 provider.setUserDetailsService(userDetailsService());
                 provider.setPasswordEncoder(passwordEncoder());
-                return provider;
+                // Skip the Mongo lookup and BCrypt verify for recently seen credentials
+                return new CachingAuthenticationProvider(provider, authenticationCache);
         }
 
         @Bean
-        public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
                 http
+                                .addFilterBefore(new TokenAuthenticationFilter(tokenService),
+                                                BasicAuthenticationFilter.class)
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .csrf(csrf -> csrf.disable())
                                 .httpBasic(Customizer.withDefaults())
@@ -111,7 +118,8 @@ public class SecurityConfig {
                                 "Cache-Control",
                                 "Pragma",
                                 "If-Modified-Since",
-                                "If-None-Match"));
+                                "If-None-Match",
+                                "Range"));
                 configuration.setExposedHeaders(Arrays.asList(
                                 "Authorization",
                                 "Content-Disposition",
@@ -122,6 +130,8 @@ public class SecurityConfig {
                                 "Access-Control-Expose-Headers",
                                 "Content-Type",
                                 "Content-Length",
+                                "Content-Range",
+                                "Accept-Ranges",
                                 "Cache-Control",
                                 "ETag",
                                 "X-Total-Count", // Add these headers for reaction counts
@@ -0,0 +1,49 @@
+package com.example.backend.config;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.backend.service.TokenService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests carrying "Authorization: Bearer &lt;token&gt;" issued by
+ * {@link TokenService}. Requests without a bearer token fall through to HTTP Basic.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+        private static final String BEARER_PREFIX = "Bearer ";
+
+        private final TokenService tokenService;
+
+        public TokenAuthenticationFilter(TokenService tokenService) {
+                this.tokenService = tokenService;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                        FilterChain filterChain) throws ServletException, IOException {
+                String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+                if (header != null && header.startsWith(BEARER_PREFIX)) {
+                        TokenService.TokenClaims claims = tokenService
+                                        .verifyToken(header.substring(BEARER_PREFIX.length()).trim());
+                        if (claims != null) {
+                                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                                claims.getUserId(), null,
+                                                Collections.singletonList(new SimpleGrantedAuthority(claims.getRole())));
+                                SecurityContextHolder.getContext().setAuthentication(authentication);
+                        }
+                }
+                filterChain.doFilter(request, response);
+        }
+}
@@ -3,6 +3,7 @@ package com.example.backend.config;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -25,7 +26,8 @@ public class WebConfig implements WebMvcConfigurer {
         Path uploadDir = Paths.get(uploadDirectory).toAbsolutePath().normalize();
         registry.addResourceHandler("/api/uploads/**", "/api/media/**")
                 .addResourceLocations("file:" + uploadDir.toString() + "/")
-                .setCacheControl(CacheControl.noCache().mustRevalidate())
+                // Stored files are named by content hash, so a path always refers to the same bytes
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
                 .resourceChain(true)
                 .addResolver(new PathResourceResolver() {
                     @Override
@@ -47,7 +49,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .exposedHeaders(HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.CONTENT_LENGTH,
                         HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES,
-                        HttpHeaders.CONTENT_TYPE)
+                        HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG)
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -2,17 +2,24 @@ package com.example.backend.controller;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.service.AdminService;
+import com.example.backend.service.AuthenticationCacheService;
+import com.example.backend.service.TokenRevocationService;
+import com.example.backend.service.UserSummaryService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/api/admin")
 @CrossOrigin(origins = { "http://localhost:3000", "http://localhost:3001", "http://localhost:3002" })
@@ -24,6 +31,15 @@ public class AdminController {
     
     @Autowired
     private AdminService adminService;
+    
+    @Autowired
+    private AuthenticationCacheService authenticationCacheService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private UserSummaryService userSummaryService;
 
     /**
      * Get all users
@@ -35,6 +51,26 @@ public class AdminController {
         return ResponseEntity.ok(users);
     }
     
+    /**
+     * Stream all users as NDJSON (default) or CSV without loading them into memory
+     */
+    @GetMapping("/users/export")
+    public void exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        logger.info("Exporting users as " + format);
+        if (!"ndjson".equalsIgnoreCase(format) && !"csv".equalsIgnoreCase(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+            return;
+        }
+
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+        adminService.exportUsers(format, response.getOutputStream());
+    }
+    
     /**
      * Get all blocked users
      */
@@ -165,6 +201,9 @@ public class AdminController {
             User user = userOpt.get();
             user.setRole(role);
             User updatedUser = userRepository.save(user);
+            authenticationCacheService.evictUser(updatedUser.getEmail());
+            tokenRevocationService.revokeUser(userId);
+            userSummaryService.evict(userId);
             logger.info("Successfully updated role for user: " + userId + " to " + role);
             
             // Return sanitized user object
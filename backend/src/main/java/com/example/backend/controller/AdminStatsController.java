@@ -1,18 +1,33 @@
 package com.example.backend.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.backend.config.CountingCallerRunsPolicy;
 import com.example.backend.service.AdminStatsService;
+import com.example.backend.service.LiveUpdateService;
+import com.example.backend.service.MediaCacheService;
+import com.example.backend.service.MediaProcessingService;
+import com.example.backend.service.StatsRollupService;
+import com.example.backend.service.UserSummaryService;
 import com.example.backend.dto.StatsResponse;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 
 @RestController
 @RequestMapping("/api/admin/stats")
@@ -23,6 +38,28 @@ public class AdminStatsController {
     @Autowired
     private AdminStatsService adminStatsService;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private StatsRollupService statsRollupService;
+
+    @Autowired
+    private MediaProcessingService mediaProcessingService;
+
+    @Autowired
+    private MediaCacheService mediaCacheService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Autowired
+    private CountingCallerRunsPolicy taskRejectionPolicy;
+
     @GetMapping("/users")
     public ResponseEntity<?> getUserStats() {
         StatsResponse stats = adminStatsService.getUserStats();
@@ -42,4 +79,68 @@ public class AdminStatsController {
         response.put("count", todayPostsCount);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Creation counts per hour or day from the pre-aggregated rollups.
+     * from/to accept an ISO date (UTC midnight) or an ISO instant; defaults to the last 30 days.
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<?> getTimeseries(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        if (!"day".equalsIgnoreCase(granularity) && !"hour".equalsIgnoreCase(granularity)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "granularity must be 'day' or 'hour'"));
+        }
+        try {
+            Instant end = to != null ? parseInstant(to) : Instant.now().truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+            Instant start = from != null ? parseInstant(from) : end.minus(30, ChronoUnit.DAYS);
+            return ResponseEntity.ok(statsRollupService.getTimeseries(start, end, granularity));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Instant parseInstant(String value) {
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return Instant.parse(value);
+    }
+
+    @GetMapping("/media-processing")
+    public ResponseEntity<?> getMediaProcessingStats() {
+        return ResponseEntity.ok(mediaProcessingService.getStats());
+    }
+
+    @GetMapping("/cache/user-summaries")
+    public ResponseEntity<?> getUserSummaryCacheStats() {
+        return ResponseEntity.ok(userSummaryService.getStats());
+    }
+
+    @GetMapping("/cache/media")
+    public ResponseEntity<?> getMediaCacheStats() {
+        return ResponseEntity.ok(mediaCacheService.getStats());
+    }
+
+    @GetMapping("/live")
+    public ResponseEntity<?> getLiveUpdateStats() {
+        return ResponseEntity.ok(liveUpdateService.getStats());
+    }
+
+    /**
+     * The @Async executor used for timeline fan-out; rejected counts tasks turned away by a
+     * full queue, which then ran on the submitting request thread
+     */
+    @GetMapping("/async")
+    public ResponseEntity<?> getAsyncExecutorStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rejected", taskRejectionPolicy.getRejectedCount());
+        stats.put("activeThreads", taskExecutor.getActiveCount());
+        stats.put("poolSize", taskExecutor.getPoolSize());
+        stats.put("maxPoolSize", taskExecutor.getMaxPoolSize());
+        stats.put("queueSize", taskExecutor.getThreadPoolExecutor().getQueue().size());
+        stats.put("queueRemainingCapacity", taskExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        return ResponseEntity.ok(stats);
+    }
 }
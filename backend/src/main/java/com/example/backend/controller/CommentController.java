@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -22,9 +23,10 @@ public class CommentController {
     public ResponseEntity<?> createComment(
             @RequestParam String postId,
             @RequestParam String userId,
-            @RequestParam String content) {
+            @RequestParam String content,
+            @RequestParam(required = false) String parentId) {
         try {
-            CommentResponse comment = commentService.createComment(postId, userId, content);
+            CommentResponse comment = commentService.createComment(postId, userId, content, parentId);
             return ResponseEntity.ok(comment);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -50,17 +52,59 @@ public class CommentController {
             @RequestParam String userId,
             @RequestParam(required = false, defaultValue = "false") boolean isAdmin) {
         try {
-            commentService.deleteComment(commentId, userId, isAdmin);
-            return ResponseEntity.ok().build();
+            // Replies are deleted with the comment; the client needs the count to adjust its total
+            long removed = commentService.deleteComment(commentId, userId, isAdmin);
+            return ResponseEntity.ok(Map.of("removed", removed));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * Latest top-level comments only; each carries replyCount, and replies are loaded
+     * from /{commentId}/replies or /{commentId}/thread
+     */
     @GetMapping("/post/{postId}")
     public ResponseEntity<List<CommentResponse>> getPostComments(
             @PathVariable String postId,
             @RequestParam(defaultValue = "10") int limit) {
         return ResponseEntity.ok(commentService.getPostComments(postId, limit));
     }
+
+    @GetMapping("/post/{postId}/page")
+    public ResponseEntity<?> getPostCommentsPage(
+            @PathVariable String postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(commentService.getPostCommentsPage(postId, cursor, limit, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<?> getReplies(
+            @PathVariable String commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(commentService.getRepliesPage(commentId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{commentId}/thread")
+    public ResponseEntity<?> getThread(
+            @PathVariable String commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(commentService.getThreadPage(commentId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
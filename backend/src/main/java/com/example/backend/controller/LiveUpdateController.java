@@ -0,0 +1,33 @@
+package com.example.backend.controller;
+
+import com.example.backend.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Server-Sent Events stream of live activity on a set of posts, replacing polling of
+ * comments and reaction status. Open with
+ * new EventSource("/api/posts/live?postIds=a,b,c") and listen for the
+ * "comment-created", "comment-deleted" and "reaction-count" events.
+ */
+@RestController
+@RequestMapping("/api/posts")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:3001", "http://localhost:3002" })
+public class LiveUpdateController {
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> subscribe(@RequestParam List<String> postIds) {
+        try {
+            return ResponseEntity.ok(liveUpdateService.subscribe(postIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+    }
+}
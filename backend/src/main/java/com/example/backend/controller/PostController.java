@@ -1,24 +1,13 @@
 package com.example.backend.controller;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.logging.Logger;
 
-import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -29,13 +18,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.example.backend.model.Post;
+import com.example.backend.dto.CursorPage;
 import com.example.backend.model.PostResponse;
 import com.example.backend.repository.PostRepository;
+import com.example.backend.service.MediaProcessingService;
+import com.example.backend.service.MediaStreamingService;
 import com.example.backend.service.PostService;
 import com.mongodb.client.gridfs.GridFSBucket;
-import com.mongodb.client.gridfs.GridFSDownloadStream;
-import com.mongodb.client.gridfs.model.GridFSFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/api")
@@ -44,15 +36,20 @@ public class PostController {
     private final PostService postService;
     private final GridFSBucket gridFSBucket;
     private final PostRepository postRepository;
+    private final MediaStreamingService mediaStreamingService;
+    private final MediaProcessingService mediaProcessingService;
 
     @Value("${upload.directory}")
     private String uploadDirectory;
 
     @Autowired
-    public PostController(PostService postService, GridFSBucket gridFSBucket, PostRepository postRepository) {
+    public PostController(PostService postService, GridFSBucket gridFSBucket, PostRepository postRepository,
+            MediaStreamingService mediaStreamingService, MediaProcessingService mediaProcessingService) {
         this.postService = postService;
         this.gridFSBucket = gridFSBucket;
         this.postRepository = postRepository;
+        this.mediaStreamingService = mediaStreamingService;
+        this.mediaProcessingService = mediaProcessingService;
     }
 
     @PostMapping("/posts")
@@ -60,7 +57,8 @@ public class PostController {
             @RequestParam("userId") String userId,
             @RequestParam("content") String content,
             @RequestParam(value = "images", required = false) List<MultipartFile> images,
-            @RequestParam(value = "video", required = false) MultipartFile video) {
+            @RequestParam(value = "video", required = false) MultipartFile video,
+            @RequestParam(value = "videoUploadId", required = false) String videoUploadId) {
         try {
             if (userId == null || userId.isEmpty()) {
                 return ResponseEntity.badRequest().body("User ID is required");
@@ -73,7 +71,7 @@ public class PostController {
                         ", contentType: " + video.getContentType());
             }
 
-            PostResponse post = postService.createPost(userId, content, images, video);
+            PostResponse post = postService.createPost(userId, content, images, video, videoUploadId);
             logger.info("Post created successfully with ID: " + post.getId());
             return ResponseEntity.ok(post);
         } catch (IllegalArgumentException e) {
@@ -87,20 +85,58 @@ public class PostController {
     }
 
     @GetMapping("/posts")
-    public ResponseEntity<List<PostResponse>> getAllPosts() {
-        return ResponseEntity.ok(postService.getAllPosts());
+    public ResponseEntity<?> getAllPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<PostResponse> page = postService.getFeedPage(cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/posts/home")
+    public ResponseEntity<?> getHomeFeed(
+            @RequestParam String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<PostResponse> page = postService.getHomeFeedPage(userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/posts/user/{userId}")
-    public ResponseEntity<List<PostResponse>> getUserPosts(@PathVariable String userId) {
-        return ResponseEntity.ok(postService.getUserPosts(userId));
+    public ResponseEntity<?> getUserPosts(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<PostResponse> page = postService.getUserPostsPage(userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/posts/{postId}")
-    public ResponseEntity<?> getPostById(@PathVariable String postId) {
+    public ResponseEntity<?> getPostById(
+            @PathVariable String postId,
+            @RequestParam(required = false) String include,
+            @RequestParam(required = false) String viewerId) {
         try {
-            PostResponse post = postService.getPostById(postId);
-            return ResponseEntity.ok(post);
+            PostResponse post = postService.getPostById(postId, include, viewerId);
+            if (viewerId == null || include == null || !include.toLowerCase().contains("viewer")) {
+                return ResponseEntity.ok(post);
+            }
+            // Personalised, and missing the viewer part if it timed out: keep a partial answer out of caches
+            CacheControl cacheControl = post.getViewerReacted() == null
+                    ? CacheControl.noStore()
+                    : CacheControl.noCache().cachePrivate();
+            return ResponseEntity.ok().cacheControl(cacheControl).body(post);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -135,139 +171,36 @@ public class PostController {
         }
     }
 
+    @GetMapping("/posts/{postId}/media/status")
+    public ResponseEntity<?> getPostMediaStatus(@PathVariable String postId) {
+        return ResponseEntity.ok(mediaProcessingService.getPostMediaStatus(postId));
+    }
+
     @GetMapping("/media/{mediaId}")
-    public ResponseEntity<Resource> getMedia(@PathVariable String mediaId) {
+    public void getMedia(
+            @PathVariable String mediaId,
+            @RequestParam(value = "w", required = false) Integer width,
+            HttpServletRequest request,
+            HttpServletResponse response) {
         try {
             logger.info("Fetching media with ID: " + mediaId);
 
-            // Check if file exists in local storage first
-            Path localFilePath = Paths.get("backend", "uploads", mediaId);
-            if (Files.exists(localFilePath)) {
-                logger.info("Found media in local storage: " + localFilePath);
-                byte[] data = Files.readAllBytes(localFilePath);
-
-                // Look for content type in post metadata if available
-                String contentType = null;
-                try {
-                    List<Post> posts = postRepository.findByMediaIdsContaining(mediaId);
-                    if (!posts.isEmpty() && posts.get(0).getMediaTypes() != null) {
-                        contentType = posts.get(0).getMediaTypes().get(mediaId);
-                        logger.info("Found content type from post metadata: " + contentType);
-                    }
-                } catch (Exception e) {
-                    logger.warning("Error retrieving media type from post: " + e.getMessage());
-                }
-
-                if (contentType == null) {
-                    contentType = determineContentType(localFilePath.getFileName().toString(), null);
-                }
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType(contentType));
-                headers.setContentLength(data.length);
-                headers.setCacheControl(CacheControl.noCache().getHeaderValue());
-                headers.setPragma("no-cache");
-                headers.setExpires(0L);
-                headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
-
-                return ResponseEntity
-                        .status(HttpStatus.OK)
-                        .headers(headers)
-                        .body(new ByteArrayResource(data));
-            }
-
-            // If not in local storage, fallback to GridFS
-            // Validate ObjectId format
-            if (!ObjectId.isValid(mediaId)) {
-                logger.warning("Invalid media ID format: " + mediaId);
-                return ResponseEntity.badRequest().build();
-            }
-
-            ObjectId objectId = new ObjectId(mediaId);
-            GridFSFile file = gridFSBucket.find(new org.bson.Document("_id", objectId)).first();
-
-            if (file == null) {
+            if (!mediaStreamingService.streamMedia(mediaId, width, request, response)) {
                 logger.warning("Media not found with ID: " + mediaId);
-                return ResponseEntity.notFound().build();
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             }
-
-            try (GridFSDownloadStream downloadStream = gridFSBucket.openDownloadStream(objectId);
-                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
-                byte[] buffer = new byte[8192];
-                int bytesRead;
-                while ((bytesRead = downloadStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                byte[] data = outputStream.toByteArray();
-
-                String contentType = determineContentType(file.getFilename(), file.getMetadata());
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType(contentType));
-                headers.setContentLength(data.length);
-                headers.setCacheControl(CacheControl.noCache().getHeaderValue());
-                headers.setPragma("no-cache");
-                headers.setExpires(0L);
-                headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
-
-                return ResponseEntity
-                        .status(HttpStatus.OK)
-                        .headers(headers)
-                        .body(new ByteArrayResource(data));
-            }
-        } catch (IOException e) {
-            logger.severe("Error reading file from local storage: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         } catch (IllegalArgumentException e) {
             logger.warning("Invalid media ID: " + e.getMessage());
-            return ResponseEntity.badRequest().build();
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        } catch (IOException e) {
+            // Usually the client aborted (e.g. seeking in a video), nothing left to send
+            logger.warning("Error streaming media " + mediaId + ": " + e.getMessage());
         } catch (Exception e) {
             logger.severe("Error retrieving media: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
-    }
-
-    private String determineContentType(String filename, org.bson.Document metadata) {
-        // Try to get from metadata first
-        if (metadata != null && metadata.containsKey("contentType")) {
-            return metadata.getString("contentType");
-        }
-
-        if (metadata != null && metadata.getString("type") != null) {
-            switch (metadata.getString("type")) {
-                case "image":
-                    return "image/jpeg";
-                case "video":
-                    return "video/mp4";
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             }
         }
-
-        // Fallback to filename extension
-        if (filename != null) {
-            filename = filename.toLowerCase();
-            if (filename.endsWith(".jpg") || filename.endsWith(".jpeg")) {
-                return "image/jpeg";
-            }
-            if (filename.endsWith(".png")) {
-                return "image/png";
-            }
-            if (filename.endsWith(".mp4")) {
-                return "video/mp4";
-            }
-            if (filename.endsWith(".mov")) {
-                return "video/quicktime";
-            }
-            if (filename.endsWith(".gif")) {
-                return "image/gif";
-            }
-            if (filename.endsWith(".webp")) {
-                return "image/webp";
-            }
-        }
-
-        // Default fallback
-        return "application/octet-stream";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.UploadSession;
+import com.example.backend.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.logging.Logger;
+
+/**
+ * Resumable chunked uploads for large media. Typical flow:
+ * POST /api/uploads, PUT /api/uploads/{id}/chunks/{n} for every chunk (any order, retries allowed),
+ * POST /api/uploads/{id}/commit, then create the post with videoUploadId={id}.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@CrossOrigin(origins = { "http://localhost:3000", "http://localhost:3001", "http://localhost:3002" })
+public class UploadController {
+    private final Logger logger = Logger.getLogger(UploadController.class.getName());
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    /**
+     * Start an upload session
+     */
+    @PostMapping
+    public ResponseEntity<?> createSession(
+            @RequestParam String userId,
+            @RequestParam(required = false) String filename,
+            @RequestParam String contentType,
+            @RequestParam long size) {
+        try {
+            UploadSession session = uploadSessionService.createSession(userId, filename, contentType, size);
+            logger.info("Created upload session " + session.getId() + " for user " + userId + ", size: " + size);
+            return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.describe(session));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.severe("Error creating upload session: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to create upload session");
+        }
+    }
+
+    /**
+     * Upload one chunk as the raw request body
+     */
+    @PutMapping("/{uploadId}/chunks/{index}")
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestParam String userId,
+            HttpServletRequest request) {
+        try {
+            UploadSession session = uploadSessionService.writeChunk(uploadId, userId, index,
+                    request.getContentLengthLong(), request.getInputStream());
+            return ResponseEntity.ok(uploadSessionService.describe(session));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            // Usually a dropped connection; the client resends this chunk
+            logger.warning("Error writing chunk " + index + " of upload " + uploadId + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to store chunk " + index);
+        }
+    }
+
+    /**
+     * Session status, including the chunks still missing, for resuming an interrupted upload
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<?> getSession(@PathVariable String uploadId, @RequestParam String userId) {
+        try {
+            return ResponseEntity.ok(uploadSessionService.describe(uploadSessionService.getSession(uploadId, userId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{uploadId}/commit")
+    public ResponseEntity<?> commit(@PathVariable String uploadId, @RequestParam String userId) {
+        try {
+            return ResponseEntity.ok(uploadSessionService.describe(uploadSessionService.commit(uploadId, userId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<?> abort(@PathVariable String uploadId, @RequestParam String userId) {
+        try {
+            uploadSessionService.abort(uploadId, userId);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.warning("Error aborting upload " + uploadId + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Failed to abort upload");
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.backend.controller;
 
 import com.example.backend.model.User;
+import com.example.backend.service.FollowService;
+import com.example.backend.service.TimelineService;
 import com.example.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -37,6 +39,12 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private FollowService followService;
+
+    @Autowired
+    private TimelineService timelineService;
+
     @GetMapping("/{userId}")
     public ResponseEntity<?> getUserProfile(@PathVariable String userId) {
         try {
@@ -63,9 +71,51 @@ public class UserController {
     }
 
     @GetMapping("/{userId}/posts")
-    public ResponseEntity<?> getUserPosts(@PathVariable String userId) {
+    public ResponseEntity<?> getUserPosts(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(userService.getUserPosts(userId, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{userId}/followers")
+    public ResponseEntity<?> followUser(@PathVariable String userId, @RequestParam String followerId) {
+        try {
+            followService.follow(followerId, userId);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{userId}/followers")
+    public ResponseEntity<?> unfollowUser(@PathVariable String userId, @RequestParam String followerId) {
+        try {
+            followService.unfollow(followerId, userId);
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{userId}/following")
+    public ResponseEntity<?> getFollowing(@PathVariable String userId) {
+        try {
+            return ResponseEntity.ok(followService.getFolloweeIds(userId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{userId}/timeline/rebuild")
+    public ResponseEntity<?> rebuildTimeline(@PathVariable String userId) {
         try {
-            return ResponseEntity.ok(userService.getUserPosts(userId));
+            timelineService.rebuildTimeline(userId);
+            return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -0,0 +1,61 @@
+package com.example.backend.dto;
+
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position on (createdAt, _id). Clients only ever see the encoded
+ * string and pass it back unchanged to fetch the following page.
+ */
+public class FeedCursor {
+    private final LocalDateTime createdAt;
+    private final ObjectId id;
+
+    public FeedCursor(LocalDateTime createdAt, ObjectId id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public ObjectId getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor of(LocalDateTime createdAt, String id) {
+        return new FeedCursor(createdAt, new ObjectId(id));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            String id = raw.substring(separator + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FeedCursor(createdAt, new ObjectId(id));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
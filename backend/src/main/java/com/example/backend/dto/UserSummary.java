@@ -0,0 +1,58 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.User;
+
+/**
+ * The handful of user fields shown next to posts, comments and reports
+ */
+public class UserSummary {
+    private final String id;
+    private final String firstName;
+    private final String lastName;
+    private final String profilePicture;
+    private final String role;
+    private final boolean enabled;
+
+    public UserSummary(String id, String firstName, String lastName, String profilePicture, String role,
+            boolean enabled) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.profilePicture = profilePicture;
+        this.role = role;
+        this.enabled = enabled;
+    }
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getFirstName(), user.getLastName(), user.getProfilePicture(),
+                user.getRole(), user.isEnabled());
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getDisplayName() {
+        return firstName + " " + lastName;
+    }
+
+    public String getProfilePicture() {
+        return profilePicture;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -1,17 +1,31 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "comments")
+@CompoundIndexes({
+        // Top-level pages (parentId null) newest first, and reply pages of one comment oldest first
+        @CompoundIndex(name = "post_parent_createdAt_id", def = "{'postId': 1, 'parentId': 1, 'createdAt': -1, '_id': -1}")
+})
 public class Comment {
     @Id
     private String id;
     private String postId;
     private String userId;
     private String content;
+    private String parentId; // null for top-level comments
+    // Ancestor ids and this comment's id joined by '/'; a subtree is one prefix range on this index
+    @Indexed
+    private String path;
+    private int depth;
+    private long replyCount; // direct replies, maintained with $inc
+    @Indexed
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -53,6 +67,38 @@ public class Comment {
         this.content = content;
     }
 
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(long replyCount) {
+        this.replyCount = replyCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
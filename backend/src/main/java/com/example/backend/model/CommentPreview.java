@@ -0,0 +1,56 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copy of one recent comment embedded in {@link Post#getCommentPreview()}, so feed cards
+ * can show the latest comments without querying the comments collection
+ */
+public class CommentPreview {
+    private String commentId;
+    private String userId;
+    private String content;
+    private LocalDateTime createdAt;
+
+    public CommentPreview() {
+    }
+
+    public CommentPreview(Comment comment) {
+        this.commentId = comment.getId();
+        this.userId = comment.getUserId();
+        this.content = comment.getContent();
+        this.createdAt = comment.getCreatedAt();
+    }
+
+    public String getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(String commentId) {
+        this.commentId = commentId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
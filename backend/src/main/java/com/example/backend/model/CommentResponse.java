@@ -9,18 +9,35 @@ public class CommentResponse {
     private String userName;
     private String userProfilePicture;
     private String content;
+    private String parentId;
+    private int depth;
+    private long replyCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    public CommentResponse() {
+    }
+
     public CommentResponse(Comment comment) {
         this.id = comment.getId();
         this.postId = comment.getPostId();
         this.userId = comment.getUserId();
         this.content = comment.getContent();
+        this.parentId = comment.getParentId();
+        this.depth = comment.getDepth();
+        this.replyCount = comment.getReplyCount();
         this.createdAt = comment.getCreatedAt();
         this.updatedAt = comment.getUpdatedAt();
     }
 
+    public CommentResponse(String postId, CommentPreview preview) {
+        this.id = preview.getCommentId();
+        this.postId = postId;
+        this.userId = preview.getUserId();
+        this.content = preview.getContent();
+        this.createdAt = preview.getCreatedAt();
+    }
+
     // Add getters and setters
     public String getId() {
         return id;
@@ -70,6 +87,30 @@ public class CommentResponse {
         this.content = content;
     }
 
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(long replyCount) {
+        this.replyCount = replyCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
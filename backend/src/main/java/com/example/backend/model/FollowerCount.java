@@ -0,0 +1,33 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Follower counter per user, kept apart from the users collection so that
+ * $inc updates never race with full User saves.
+ */
+@Document(collection = "follower_counts")
+public class FollowerCount {
+    @Id
+    private String userId;
+    @Indexed
+    private long count;
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * A live update for one post, pushed to SSE subscribers. Only stored when the
+ * change-stream relay is enabled, so other nodes can pick it up; expires shortly after.
+ */
+@Document(collection = "live_events")
+public class LiveEvent {
+    public static final String COMMENT_CREATED = "comment-created";
+    public static final String COMMENT_DELETED = "comment-deleted";
+    public static final String REACTION_COUNT = "reaction-count";
+
+    @Id
+    private String id;
+    private String type;
+    private String postId;
+    private String commentId;
+    private String parentId;
+    private CommentResponse comment; // comment-created only
+    private long delta; // change in comment or like count
+    private Long likes; // reaction-count only: the count after the change
+    @Indexed(expireAfterSeconds = 300)
+    private Date createdAt = new Date();
+
+    public LiveEvent() {
+    }
+
+    public static LiveEvent commentCreated(CommentResponse comment) {
+        LiveEvent event = new LiveEvent();
+        event.type = COMMENT_CREATED;
+        event.postId = comment.getPostId();
+        event.commentId = comment.getId();
+        event.parentId = comment.getParentId();
+        event.comment = comment;
+        event.delta = 1;
+        return event;
+    }
+
+    /**
+     * @param removed number of comments deleted, including replies
+     */
+    public static LiveEvent commentDeleted(String postId, String commentId, String parentId, long removed) {
+        LiveEvent event = new LiveEvent();
+        event.type = COMMENT_DELETED;
+        event.postId = postId;
+        event.commentId = commentId;
+        event.parentId = parentId;
+        event.delta = -removed;
+        return event;
+    }
+
+    public static LiveEvent reactionCount(String postId, long delta, long likes) {
+        LiveEvent event = new LiveEvent();
+        event.type = REACTION_COUNT;
+        event.postId = postId;
+        event.delta = delta;
+        event.likes = likes;
+        return event;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(String postId) {
+        this.postId = postId;
+    }
+
+    public String getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(String commentId) {
+        this.commentId = commentId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public CommentResponse getComment() {
+        return comment;
+    }
+
+    public void setComment(CommentResponse comment) {
+        this.comment = comment;
+    }
+
+    public long getDelta() {
+        return delta;
+    }
+
+    public void setDelta(long delta) {
+        this.delta = delta;
+    }
+
+    public Long getLikes() {
+        return likes;
+    }
+
+    public void setLikes(Long likes) {
+        this.likes = likes;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
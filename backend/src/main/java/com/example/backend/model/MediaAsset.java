@@ -0,0 +1,150 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Processing state of one uploaded media file. The id is the media id used in
+ * /api/media/{id} and, once processed, the GridFS file id.
+ */
+@Document(collection = "media_assets")
+public class MediaAsset {
+    public static final String PROCESSING = "PROCESSING";
+    public static final String READY = "READY";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private String id;
+    @Indexed
+    private String postId;
+    private String userId;
+    private String type; // "image" or "video"
+    private String contentType;
+    private String filename;
+    @Indexed
+    private String status = PROCESSING;
+    private long size;
+    private String sha256;
+    private String blobId; // Stored copy this media resolves to; differs from id when deduplicated
+    private String error;
+    private Date createdAt = new Date();
+    private Date processedAt;
+    private List<MediaRendition> renditions = new ArrayList<>(); // Ascending by width
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(String postId) {
+        this.postId = postId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Date processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    public List<MediaRendition> getRenditions() {
+        return renditions;
+    }
+
+    public void setRenditions(List<MediaRendition> renditions) {
+        this.renditions = renditions;
+    }
+
+    public String getBlobId() {
+        return blobId;
+    }
+
+    public void setBlobId(String blobId) {
+        this.blobId = blobId;
+    }
+}
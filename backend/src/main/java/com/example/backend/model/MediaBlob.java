@@ -0,0 +1,82 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Content-addressed index entry: one stored copy per distinct SHA-256,
+ * shared by every upload with the same bytes and deleted when refCount reaches zero.
+ */
+@Document(collection = "media_blobs")
+public class MediaBlob {
+    @Id
+    private String sha256;
+    @Indexed
+    private String blobId; // GridFS / local storage id of the stored copy
+    private String contentType;
+    private long size;
+    private long refCount;
+    private List<MediaRendition> renditions = new ArrayList<>();
+    private Date createdAt = new Date();
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getBlobId() {
+        return blobId;
+    }
+
+    public void setBlobId(String blobId) {
+        this.blobId = blobId;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(long refCount) {
+        this.refCount = refCount;
+    }
+
+    public List<MediaRendition> getRenditions() {
+        return renditions;
+    }
+
+    public void setRenditions(List<MediaRendition> renditions) {
+        this.renditions = renditions;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
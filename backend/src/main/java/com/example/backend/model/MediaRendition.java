@@ -0,0 +1,63 @@
+package com.example.backend.model;
+
+/**
+ * A downscaled copy of an image, stored in GridFS and local storage under its own media id
+ */
+public class MediaRendition {
+    private String mediaId;
+    private int width;
+    private int height;
+    private String contentType;
+    private long size;
+
+    public MediaRendition() {
+    }
+
+    public MediaRendition(String mediaId, int width, int height, String contentType, long size) {
+        this.mediaId = mediaId;
+        this.width = width;
+        this.height = height;
+        this.contentType = contentType;
+        this.size = size;
+    }
+
+    public String getMediaId() {
+        return mediaId;
+    }
+
+    public void setMediaId(String mediaId) {
+        this.mediaId = mediaId;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
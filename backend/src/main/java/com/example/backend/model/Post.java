@@ -1,6 +1,8 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,11 @@ import java.util.List;
 import java.util.Map;
 
 @Document(collection = "posts")
+@CompoundIndexes({
+        @CompoundIndex(name = "feed_createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_feed_createdAt_id", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "changedAt_id", def = "{'changedAt': -1, '_id': -1}")
+})
 public class Post {
     @Id
     private String id;
@@ -20,17 +27,27 @@ public class Post {
     private List<String> mediaIds = new ArrayList<>(); // Store GridFS IDs
     private Map<String, String> mediaTypes = new HashMap<>(); // Store media type for each mediaId
     private int likes = 0;
-    private List<String> comments = new ArrayList<>();
+    // Maintained with $inc/$push/$slice by CommentService; the preview holds the newest comments, oldest first
+    // All comments including replies
+    private long commentCount = 0;
+    // Comments that are not replies; what the post's comment pages and preview list
+    private long topLevelCommentCount = 0;
+    private List<CommentPreview> commentPreview = new ArrayList<>();
     private LocalDateTime createdAt = LocalDateTime.now();
     private Map<String, Integer> reactionCounts = new HashMap<>();
+    // Incremented by every write that changes the post's response or its comment list; used for ETags
+    private long version = 0;
+    private long commentsVersion = 0;
+    // Set together with every version increment; the most recently changed post versions the feeds
+    private LocalDateTime changedAt = LocalDateTime.now();
 
     public Post() {
     }
 
     // Constructor for PostResponse
     public Post(String id, String userId, String content, String videoUrl, List<String> imageUrls,
-            List<String> mediaIds, Map<String, String> mediaTypes, int likes, List<String> comments,
-            LocalDateTime createdAt, Map<String, Integer> reactionCounts) {
+            List<String> mediaIds, Map<String, String> mediaTypes, int likes, long commentCount,
+            List<CommentPreview> commentPreview, LocalDateTime createdAt, Map<String, Integer> reactionCounts) {
         this.id = id;
         this.userId = userId;
         this.content = content;
@@ -39,7 +56,8 @@ public class Post {
         this.mediaIds = mediaIds != null ? mediaIds : new ArrayList<>();
         this.mediaTypes = mediaTypes != null ? mediaTypes : new HashMap<>();
         this.likes = likes;
-        this.comments = comments != null ? comments : new ArrayList<>();
+        this.commentCount = commentCount;
+        this.commentPreview = commentPreview != null ? commentPreview : new ArrayList<>();
         this.createdAt = createdAt;
         this.reactionCounts = reactionCounts != null ? reactionCounts : new HashMap<>();
     }
@@ -109,12 +127,28 @@ public class Post {
         this.likes = likes;
     }
 
-    public List<String> getComments() {
-        return comments;
+    public long getCommentCount() {
+        return commentCount;
     }
 
-    public void setComments(List<String> comments) {
-        this.comments = comments;
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public long getTopLevelCommentCount() {
+        return topLevelCommentCount;
+    }
+
+    public void setTopLevelCommentCount(long topLevelCommentCount) {
+        this.topLevelCommentCount = topLevelCommentCount;
+    }
+
+    public List<CommentPreview> getCommentPreview() {
+        return commentPreview;
+    }
+
+    public void setCommentPreview(List<CommentPreview> commentPreview) {
+        this.commentPreview = commentPreview;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -133,6 +167,30 @@ public class Post {
         this.reactionCounts = reactionCounts;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getCommentsVersion() {
+        return commentsVersion;
+    }
+
+    public void setCommentsVersion(long commentsVersion) {
+        this.commentsVersion = commentsVersion;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
     // Helper method to add or update a specific reaction count
     public void addReactionCount(String reactionType, int count) {
         this.reactionCounts.put(reactionType, 
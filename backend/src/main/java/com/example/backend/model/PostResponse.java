@@ -17,8 +17,11 @@ public class PostResponse {
     private List<String> mediaIds = new ArrayList<>();
     private Map<String, String> mediaTypes = new HashMap<>();
     private int likes;
-    private List<String> comments = new ArrayList<>();
+    private long commentCount;
+    private List<CommentResponse> commentPreview = new ArrayList<>();
     private LocalDateTime createdAt;
+    private String mediaState; // "PROCESSING" right after upload, see /api/posts/{id}/media/status
+    private Boolean viewerReacted; // Only set when requested with include=viewer
 
     public PostResponse() {
     }
@@ -32,7 +35,7 @@ public class PostResponse {
         this.mediaIds = post.getMediaIds();
         this.mediaTypes = post.getMediaTypes();
         this.likes = post.getLikes();
-        this.comments = post.getComments();
+        this.commentCount = post.getCommentCount();
         this.createdAt = post.getCreatedAt();
     }
 
@@ -117,12 +120,20 @@ public class PostResponse {
         this.likes = likes;
     }
 
-    public List<String> getComments() {
-        return comments;
+    public long getCommentCount() {
+        return commentCount;
     }
 
-    public void setComments(List<String> comments) {
-        this.comments = comments;
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public List<CommentResponse> getCommentPreview() {
+        return commentPreview;
+    }
+
+    public void setCommentPreview(List<CommentResponse> commentPreview) {
+        this.commentPreview = commentPreview;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -132,4 +143,20 @@ public class PostResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public String getMediaState() {
+        return mediaState;
+    }
+
+    public void setMediaState(String mediaState) {
+        this.mediaState = mediaState;
+    }
+
+    public Boolean getViewerReacted() {
+        return viewerReacted;
+    }
+
+    public void setViewerReacted(Boolean viewerReacted) {
+        this.viewerReacted = viewerReacted;
+    }
 }
\ No newline at end of file
@@ -1,15 +1,18 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
+// The unique userId/postId index is created by ReactionService once older duplicates are removed
 @Document(collection = "reactions")
 public class Reaction {
     @Id
     private String id;
     private String userId;
     private String postId;
+    @Indexed
     private LocalDateTime createdAt;
 
     public Reaction() {
@@ -1,6 +1,7 @@
 package com.example.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.Date;
 
@@ -15,6 +16,7 @@ public class Report {
     private String reason;
     private String note;
     private String status; // "PENDING", "REJECTED", "RESOLVED"
+    @Indexed
     private Date createdAt;
     private Date updatedAt;
     private String adminId; // ID of admin who reviewed the report
@@ -0,0 +1,78 @@
+package com.example.backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One post in one user's materialized home timeline.
+ * createdAt and postId mirror the post so pages are a single range scan.
+ */
+@Document(collection = "timelines")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_createdAt_post", def = "{'userId': 1, 'createdAt': -1, 'postId': -1}"),
+        @CompoundIndex(name = "user_post_unique", def = "{'userId': 1, 'postId': 1}", unique = true),
+        @CompoundIndex(name = "post", def = "{'postId': 1}")
+})
+public class TimelineEntry {
+    @Id
+    private String id;
+    private String userId;
+    private String postId;
+    private String authorId;
+    private LocalDateTime createdAt;
+
+    public TimelineEntry() {
+    }
+
+    public TimelineEntry(String userId, Post post) {
+        this.userId = userId;
+        this.postId = post.getId();
+        this.authorId = post.getUserId();
+        this.createdAt = post.getCreatedAt();
+    }
+
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getPostId() {
+        return postId;
+    }
+
+    public void setPostId(String postId) {
+        this.postId = postId;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
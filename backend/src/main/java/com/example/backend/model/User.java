@@ -6,6 +6,7 @@ import java.util.Date;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -23,12 +24,16 @@ public class User implements UserDetails {
     private String bio;
     private String role = "ROLE_USER";
     private boolean enabled = true;
+    @Indexed
     private Date createdAt = new Date();
     private Date lastLogin; // Added lastLogin field
 
     @Transient
     private String rawPassword;
 
+    @Transient
+    private String token; // Signed access token returned on login
+
     // Getters and setters
     public String getId() {
         return id;
@@ -98,6 +103,14 @@ public class User implements UserDetails {
         this.rawPassword = rawPassword;
     }
 
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
@@ -1,16 +1,29 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Comment;
+import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.domain.Page;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentRepository extends MongoRepository<Comment, String> {
-    List<Comment> findByPostIdOrderByCreatedAtAsc(String postId);
-
     List<Comment> findByUserIdOrderByCreatedAtDesc(String userId);
 
-    Page<Comment> findByPostIdOrderByCreatedAtDesc(String postId, Pageable pageable);
+    // Keyset pages of top-level comments on the (postId, parentId, createdAt, _id) index, newest first
+    @Query("{ 'postId': ?0, 'parentId': null }")
+    List<Comment> findPostPage(String postId, Pageable pageable);
+
+    @Query("{ 'postId': ?0, 'parentId': null, $or: [ { 'createdAt': { $lt: ?1 } }, { 'createdAt': ?1, '_id': { $lt: ?2 } } ] }")
+    List<Comment> findPostPageBefore(String postId, LocalDateTime createdAt, ObjectId id, Pageable pageable);
+
+    // Direct replies of one comment on the same index, oldest first
+    @Query("{ 'postId': ?0, 'parentId': ?1 }")
+    List<Comment> findReplyPage(String postId, String parentId, Pageable pageable);
+
+    @Query("{ 'postId': ?0, 'parentId': ?1, $or: [ { 'createdAt': { $gt: ?2 } }, { 'createdAt': ?2, '_id': { $gt: ?3 } } ] }")
+    List<Comment> findReplyPageAfter(String postId, String parentId, LocalDateTime createdAt, ObjectId id,
+            Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.Follow;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface FollowRepository extends MongoRepository<Follow, String> {
+    List<Follow> findByFolloweeId(String followeeId);
+
+    List<Follow> findByFollowerId(String followerId);
+
+    boolean existsByFollowerIdAndFolloweeId(String followerId, String followeeId);
+
+    long deleteByFollowerIdAndFolloweeId(String followerId, String followeeId);
+}
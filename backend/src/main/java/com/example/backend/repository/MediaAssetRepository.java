@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.MediaAsset;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface MediaAssetRepository extends MongoRepository<MediaAsset, String> {
+    List<MediaAsset> findByPostId(String postId);
+
+    List<MediaAsset> findByStatus(String status);
+}
@@ -1,6 +1,8 @@
 package com.example.backend.repository;
 
 import com.example.backend.model.Post;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -12,9 +14,18 @@ import java.util.Optional;
 
 @Repository
 public interface PostRepository extends MongoRepository<Post, String> {
-    List<Post> findAllByOrderByCreatedAtDesc();
+    // Keyset pagination on (createdAt, _id); sort order comes from the Pageable
+    @Query("{}")
+    List<Post> findFeedPage(Pageable pageable);
 
-    List<Post> findByUserIdOrderByCreatedAtDesc(String userId);
+    @Query("{ $or: [ { 'createdAt': { $lt: ?0 } }, { 'createdAt': ?0, '_id': { $lt: ?1 } } ] }")
+    List<Post> findFeedPageBefore(LocalDateTime createdAt, ObjectId id, Pageable pageable);
+
+    @Query("{ 'userId': ?0 }")
+    List<Post> findUserFeedPage(String userId, Pageable pageable);
+
+    @Query("{ 'userId': ?0, $or: [ { 'createdAt': { $lt: ?1 } }, { 'createdAt': ?1, '_id': { $lt: ?2 } } ] }")
+    List<Post> findUserFeedPageBefore(String userId, LocalDateTime createdAt, ObjectId id, Pageable pageable);
 
     @Query("{ 'mediaIds': ?0 }")
     Optional<Post> findFirstByMediaId(String mediaId);
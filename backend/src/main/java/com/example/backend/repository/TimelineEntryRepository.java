@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.TimelineEntry;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface TimelineEntryRepository extends MongoRepository<TimelineEntry, String> {
+    void deleteByUserId(String userId);
+
+    void deleteByPostId(String postId);
+
+    void deleteByUserIdAndAuthorId(String userId, String authorId);
+}
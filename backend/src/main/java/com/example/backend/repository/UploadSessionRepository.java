@@ -0,0 +1,11 @@
+package com.example.backend.repository;
+
+import com.example.backend.model.UploadSession;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.List;
+
+public interface UploadSessionRepository extends MongoRepository<UploadSession, String> {
+    List<UploadSession> findByCreatedAtBefore(Date cutoff);
+}
@@ -3,25 +3,57 @@ package com.example.backend.service;
 import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminService {
     private final Logger logger = Logger.getLogger(AdminService.class.getName());
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final String[] EXPORT_FIELDS = {
+        "id", "firstName", "lastName", "email", "role", "enabled", "createdAt", "lastLogin"
+    };
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private AuthenticationCacheService authenticationCacheService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private UserSummaryService userSummaryService;
 
     /**
      * Get all users
@@ -33,6 +65,77 @@ public class AdminService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Stream every user to the output as NDJSON or CSV straight from a Mongo cursor.
+     * Only one batch of users is held in memory, and the cursor advances only as fast
+     * as the client drains the response.
+     */
+    public void exportUsers(String format, OutputStream outputStream) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+
+        Query query = new Query().cursorBatchSize(EXPORT_BATCH_SIZE);
+        query.fields().include(EXPORT_FIELDS);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(String.join(",", EXPORT_FIELDS));
+            writer.write("\n");
+        }
+
+        long count = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                Map<String, Object> row = toExportRow(iterator.next());
+                if (csv) {
+                    writer.write(row.values().stream()
+                            .map(this::toCsvValue)
+                            .collect(Collectors.joining(",")));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write("\n");
+                count++;
+            }
+        }
+        writer.flush();
+        logger.info("Exported " + count + " users as " + format);
+    }
+
+    private Map<String, Object> toExportRow(User user) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", user.getId());
+        row.put("firstName", user.getFirstName());
+        row.put("lastName", user.getLastName());
+        row.put("email", user.getEmail());
+        row.put("role", user.getRole());
+        row.put("enabled", user.isEnabled());
+        row.put("createdAt", user.getCreatedAt() != null ? user.getCreatedAt().toInstant().toString() : null);
+        row.put("lastLogin", user.getLastLogin() != null ? user.getLastLogin().toInstant().toString() : null);
+        return row;
+    }
+
+    /**
+     * Quote a CSV field. User-entered text starting with =, +, -, @, tab or CR is prefixed
+     * with ' so spreadsheets show it as text instead of evaluating it as a formula.
+     */
+    private String toCsvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+    
     /**
      * Get all blocked users
      */
@@ -89,6 +192,7 @@ public class AdminService {
         
         // Log that we found the user for debug purposes
         logger.info("Found user to update: " + existingUser.getEmail());
+        String previousEmail = existingUser.getEmail();
         
         // Update fields if provided
         if (userUpdates.getFirstName() != null && !userUpdates.getFirstName().isEmpty()) {
@@ -135,6 +239,9 @@ public class AdminService {
         // Save and return updated user
         try {
             User savedUser = userRepository.save(existingUser);
+            authenticationCacheService.evictUser(previousEmail);
+            tokenRevocationService.revokeUser(userId);
+            userSummaryService.evict(userId);
             logger.info("User updated successfully: " + userId);
             return sanitizeUserForResponse(savedUser);
         } catch (Exception e) {
@@ -158,6 +265,9 @@ public class AdminService {
         
         User user = userOpt.get();
         userRepository.delete(user);
+        authenticationCacheService.evictUser(user.getEmail());
+        tokenRevocationService.revokeUser(userId);
+        userSummaryService.evict(userId);
         logger.info("User deleted successfully: " + userId);
     }
     
@@ -177,6 +287,9 @@ public class AdminService {
         // Toggle status
         user.setEnabled(!user.isEnabled());
         User updatedUser = userRepository.save(user);
+        authenticationCacheService.evictUser(user.getEmail());
+        tokenRevocationService.revokeUser(userId);
+        userSummaryService.evict(userId);
         
         logger.info("User status toggled to: " + user.isEnabled());
         return sanitizeUserForResponse(updatedUser);
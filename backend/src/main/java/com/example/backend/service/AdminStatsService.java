@@ -12,6 +12,7 @@ import com.example.backend.repository.UserRepository;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AdminStatsService {
@@ -22,21 +23,15 @@ public class AdminStatsService {
     @Autowired
     private PostRepository postRepository;
 
-    public StatsResponse getUserStats() {
-        int totalUsers = (int) userRepository.count();
-
-        // Calculate new users today
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        Date today = calendar.getTime();
-
-        int newUsersToday = userRepository.countByCreatedAtGreaterThanEqual(today);
+    @Autowired
+    private StatsService statsService;
 
-        // Calculate active users (users with enabled=true)
-        int activeUsers = userRepository.countByEnabledTrue();
+    public StatsResponse getUserStats() {
+        // total, new today and active users come from one cached $group aggregation
+        Map<String, Object> stats = statsService.getUserStats();
+        int totalUsers = ((Number) stats.get("total")).intValue();
+        int newUsersToday = ((Number) stats.get("newToday")).intValue();
+        int activeUsers = ((Number) stats.get("active")).intValue();
 
         return new StatsResponse(totalUsers, newUsersToday, activeUsers);
     }
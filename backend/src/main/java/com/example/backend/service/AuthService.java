@@ -12,10 +12,12 @@ import com.example.backend.repository.UserRepository;
 public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenService = tokenService;
     }
 
     public User registerUser(User user) {
@@ -36,6 +38,9 @@ public class AuthService {
 
         // Add raw password for auth
         user.setRawPassword(password);
+
+        // Signed token lets the client skip Basic auth (and BCrypt) on later calls
+        user.setToken(tokenService.issueToken(user));
         
         // Update the last login time
         user.setLastLogin(new Date());
@@ -0,0 +1,77 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.logging.Logger;
+
+/**
+ * Short-lived cache of successful HTTP Basic authentications so that repeated
+ * requests with the same credentials skip the user lookup and BCrypt check.
+ * Entries are keyed by an HMAC of username and password under a per-process
+ * random key, so neither the raw password nor a reusable hash is kept in memory.
+ */
+@Service
+public class AuthenticationCacheService {
+    private static final Logger logger = Logger.getLogger(AuthenticationCacheService.class.getName());
+
+    private final Cache<String, Authentication> cache;
+    private final byte[] secret = new byte[32];
+
+    public AuthenticationCacheService(
+            @Value("${auth.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${auth.cache.max-size:10000}") long maxSize) {
+        new SecureRandom().nextBytes(secret);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public Authentication get(String username, String password) {
+        return cache.getIfPresent(key(username, password));
+    }
+
+    public void put(String username, String password, Authentication authentication) {
+        cache.put(key(username, password), authentication);
+    }
+
+    /**
+     * Drop every cached authentication for the given username (email).
+     * Call whenever the user's password, role or enabled flag changes.
+     */
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.asMap().values().removeIf(authentication -> username.equals(authentication.getName()));
+        logger.info("Evicted cached credentials for: " + username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private String key(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.UserSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Resolves post and comment authors for a whole page of results in a single query
+ * instead of one userRepository.findById per row.
+ */
+@Service
+public class AuthorEnrichmentService {
+
+    private final UserSummaryService userSummaryService;
+
+    @Autowired
+    public AuthorEnrichmentService(UserSummaryService userSummaryService) {
+        this.userSummaryService = userSummaryService;
+    }
+
+    /**
+     * Load the distinct authors for the given user ids, from the summary cache
+     * where possible and with one $in query for the rest.
+     * @param userIds author ids, duplicates and nulls are ignored
+     * @return map of user id to author summary
+     */
+    public Map<String, UserSummary> loadAuthors(Collection<String> userIds) {
+        try {
+            return userSummaryService.getSummaries(userIds);
+        } catch (Exception e) {
+            // Callers fall back to "Deleted User" for anything missing from the map
+            System.err.println("Error loading authors " + userIds + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -1,71 +1,178 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorPage;
+import com.example.backend.dto.FeedCursor;
+import com.example.backend.dto.UserSummary;
 import com.example.backend.model.Comment;
+import com.example.backend.model.CommentPreview;
 import com.example.backend.model.CommentResponse;
+import com.example.backend.model.LiveEvent;
 import com.example.backend.model.Post;
-import com.example.backend.model.User;
 import com.example.backend.repository.CommentRepository;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.UserRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
+    private static final Logger logger = Logger.getLogger(CommentService.class.getName());
+    // Field the comment id list was stored in before commentCount and commentPreview
+    private static final String LEGACY_COMMENT_IDS = "comments";
+    private static final String TOP_LEVEL_COUNT = "topLevelCommentCount";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final char PATH_SEPARATOR = '/';
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final AuthorEnrichmentService authorEnrichmentService;
+    private final MongoTemplate mongoTemplate;
+    private final ContentVersionService contentVersionService;
+    private final LiveUpdateService liveUpdateService;
+    private final int previewSize;
+    private final int maxDepth;
 
     @Autowired
     public CommentService(CommentRepository commentRepository,
             PostRepository postRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            AuthorEnrichmentService authorEnrichmentService,
+            MongoTemplate mongoTemplate,
+            ContentVersionService contentVersionService,
+            LiveUpdateService liveUpdateService,
+            @Value("${comments.preview-size:3}") int previewSize,
+            @Value("${comments.max-depth:8}") int maxDepth) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.authorEnrichmentService = authorEnrichmentService;
+        this.mongoTemplate = mongoTemplate;
+        this.contentVersionService = contentVersionService;
+        this.liveUpdateService = liveUpdateService;
+        this.previewSize = previewSize;
+        this.maxDepth = maxDepth;
     }
 
     private CommentResponse convertToCommentResponse(Comment comment) {
-        CommentResponse response = new CommentResponse(comment);
+        return convertToCommentResponses(Collections.singletonList(comment)).get(0);
+    }
 
-        try {
-            userRepository.findById(comment.getUserId()).ifPresent(user -> {
-                response.setUserName(user.getFirstName() + " " + user.getLastName());
-                response.setUserProfilePicture(user.getProfilePicture());
-            });
-        } catch (Exception e) {
-            // If user not found, use default values
-            response.setUserName("Deleted User");
-            response.setUserProfilePicture(null);
-        }
+    /**
+     * Convert a page of comments, resolving all authors with a single batched lookup
+     */
+    private List<CommentResponse> convertToCommentResponses(List<Comment> comments) {
+        Map<String, UserSummary> authors = authorEnrichmentService.loadAuthors(comments.stream()
+                .map(Comment::getUserId)
+                .collect(Collectors.toList()));
 
-        return response;
+        return comments.stream()
+                .map(comment -> {
+                    CommentResponse response = new CommentResponse(comment);
+                    UserSummary user = authors.get(comment.getUserId());
+                    if (user != null) {
+                        response.setUserName(user.getDisplayName());
+                        response.setUserProfilePicture(user.getProfilePicture());
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
     }
 
     public CommentResponse createComment(String postId, String userId, String content) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        return createComment(postId, userId, content, null);
+    }
+
+    /**
+     * Create a top-level comment, or a reply when parentId is given
+     * @throws IllegalArgumentException if the post or parent does not exist, or the reply is nested too deep
+     */
+    public CommentResponse createComment(String postId, String userId, String content, String parentId) {
+        if (!postRepository.existsById(postId)) {
+            throw new IllegalArgumentException("Post not found");
+        }
 
         Comment comment = new Comment();
+        // The id is part of the path, so allocate it before inserting
+        comment.setId(new ObjectId().toHexString());
         comment.setPostId(postId);
         comment.setUserId(userId);
         comment.setContent(content);
+        comment.setPath(comment.getId());
 
-        Comment savedComment = commentRepository.save(comment);
+        boolean reply = parentId != null && !parentId.isEmpty();
+        if (reply) {
+            Comment parent = commentRepository.findById(parentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Parent comment not found"));
+            if (!postId.equals(parent.getPostId())) {
+                throw new IllegalArgumentException("Parent comment belongs to a different post");
+            }
+            if (parent.getDepth() + 1 > maxDepth) {
+                throw new IllegalArgumentException("Replies cannot be nested more than " + maxDepth + " levels deep");
+            }
+            comment.setParentId(parentId);
+            comment.setPath(pathOf(parent) + PATH_SEPARATOR + comment.getId());
+            comment.setDepth(parent.getDepth() + 1);
+        }
+
+        Comment savedComment = mongoTemplate.insert(comment);
 
-        // Update post's comments list
-        post.getComments().add(savedComment.getId());
-        postRepository.save(post);
+        if (reply && mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(parentId)),
+                new Update().inc("replyCount", 1), Comment.class).getMatchedCount() == 0) {
+            // The parent was deleted in the meantime
+            commentRepository.deleteById(savedComment.getId());
+            throw new IllegalArgumentException("Parent comment not found");
+        }
 
-        return convertToCommentResponse(savedComment);
+        // Count and preview move in one atomic update; concurrent comments never overwrite each other.
+        // The preview only shows top-level comments.
+        Update update = new Update()
+                .inc("commentCount", 1)
+                .inc("version", 1)
+                .inc("commentsVersion", 1)
+                .set("changedAt", LocalDateTime.now());
+        if (!reply) {
+            update.inc(TOP_LEVEL_COUNT, 1);
+            update.push("commentPreview").slice(-previewSize).each(new CommentPreview(savedComment));
+        }
+        if (mongoTemplate.updateFirst(postQuery(postId), update, Post.class).getMatchedCount() == 0) {
+            // The post was deleted in the meantime
+            commentRepository.deleteById(savedComment.getId());
+            throw new IllegalArgumentException("Post not found");
+        }
+        contentVersionService.commentsChanged(postId);
+
+        CommentResponse response = convertToCommentResponse(savedComment);
+        liveUpdateService.publish(LiveEvent.commentCreated(response));
+        return response;
     }
 
     public CommentResponse updateComment(String commentId, String userId, String content) {
@@ -76,92 +183,322 @@ public class CommentService {
             throw new IllegalArgumentException("You can only update your own comments");
         }
 
-        comment.setContent(content);
-        comment.setUpdatedAt(LocalDateTime.now());
-        Comment updatedComment = commentRepository.save(comment);
+        // replyCount moves with $inc as replies come and go, so leave it alone
+        Comment updatedComment = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(commentId)),
+                new Update().set("content", content).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), Comment.class);
+        if (updatedComment == null) {
+            throw new IllegalArgumentException("Comment not found");
+        }
+
+        // Edit the preview copy too, if the comment is still one of the latest
+        Update update = new Update()
+                .inc("version", 1)
+                .inc("commentsVersion", 1)
+                .set("changedAt", LocalDateTime.now())
+                .set("commentPreview.$[preview].content", content)
+                .filterArray(Criteria.where("preview.commentId").is(commentId));
+        mongoTemplate.updateFirst(postQuery(comment.getPostId()), update, Post.class);
+        contentVersionService.commentsChanged(comment.getPostId());
 
         return convertToCommentResponse(updatedComment);
     }
 
-    public void deleteComment(String commentId, String userId, boolean isAdmin) {
+    /**
+     * Delete a comment together with all replies below it
+     * @return how many comments were removed, 0 if the comment was already gone
+     */
+    public long deleteComment(String commentId, String userId, boolean isAdmin) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
 
         // If user is admin, allow deletion regardless of ownership
-        if (isAdmin) {
-            // Remove comment ID from post's comments list if post still exists
-            postRepository.findById(comment.getPostId()).ifPresent(post -> {
-                post.getComments().remove(commentId);
-                postRepository.save(post);
-            });
-
-            // Delete the comment
-            commentRepository.deleteById(commentId);
+        if (!isAdmin) {
+            Query ownerQuery = postQuery(comment.getPostId());
+            ownerQuery.fields().include("userId");
+            Post post = mongoTemplate.findOne(ownerQuery, Post.class);
+            if (post == null) {
+                throw new IllegalArgumentException("Post not found");
+            }
+
+            // Check if user is either comment owner or post owner
+            if (!comment.getUserId().equals(userId) && !post.getUserId().equals(userId)) {
+                throw new IllegalArgumentException("You don't have permission to delete this comment");
+            }
+        }
+
+        // Only the request that actually deletes the comment moves the counters
+        if (mongoTemplate.remove(Query.query(Criteria.where("id").is(commentId)), Comment.class)
+                .getDeletedCount() == 0) {
+            return 0;
+        }
+
+        // Replies go with the comment: the whole subtree is one range on the path index
+        long removed = 1 + mongoTemplate.remove(Query.query(subtreeCriteria(pathOf(comment), null)), Comment.class)
+                .getDeletedCount();
+        if (comment.getParentId() != null) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(comment.getParentId())),
+                    new Update().inc("replyCount", -1), Comment.class);
+        }
+
+        Update update = new Update()
+                .inc("commentCount", -removed)
+                .inc("version", 1)
+                .inc("commentsVersion", 1)
+                .set("changedAt", LocalDateTime.now())
+                .pull("commentPreview", Query.query(Criteria.where("commentId").is(commentId)).getQueryObject());
+        if (comment.getParentId() == null) {
+            update.inc(TOP_LEVEL_COUNT, -1);
+        }
+        Post post = mongoTemplate.findAndModify(postQuery(comment.getPostId()), update,
+                FindAndModifyOptions.options().returnNew(true), Post.class);
+        if (post != null) {
+            refillPreview(post);
+        }
+        contentVersionService.commentsChanged(comment.getPostId());
+        liveUpdateService.publish(LiveEvent.commentDeleted(comment.getPostId(), commentId, comment.getParentId(),
+                removed));
+        return removed;
+    }
+
+    /**
+     * After a preview comment is deleted, reload the latest comments so the preview stays full.
+     * Replies never appear in the preview, so it is measured against the top-level count.
+     */
+    private void refillPreview(Post post) {
+        int expected = (int) Math.min(previewSize, Math.max(post.getTopLevelCommentCount(), 0));
+        int present = post.getCommentPreview() != null ? post.getCommentPreview().size() : 0;
+        if (present >= expected) {
             return;
         }
 
-        Post post = postRepository.findById(comment.getPostId())
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        Query latestQuery = Query.query(Criteria.where("postId").is(post.getId()).and("parentId").is(null))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .limit(previewSize);
+        List<Comment> latest = new ArrayList<>(mongoTemplate.find(latestQuery, Comment.class));
+        Collections.reverse(latest);
+        mongoTemplate.updateFirst(postQuery(post.getId()),
+                new Update().set("commentPreview",
+                        latest.stream().map(CommentPreview::new).collect(Collectors.toList())),
+                Post.class);
+    }
+
+    /**
+     * One-time conversion of posts that still carry the old comment id list into
+     * commentCount plus a preview of the latest comments
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateCommentIdLists() {
+        Query legacy = Query.query(Criteria.where(LEGACY_COMMENT_IDS).exists(true));
+        legacy.fields().include(LEGACY_COMMENT_IDS);
+        List<Document> posts = mongoTemplate.find(legacy, Document.class, mongoTemplate.getCollectionName(Post.class));
+        for (Document legacyPost : posts) {
+            Object id = legacyPost.get("_id");
+            List<?> ids = legacyPost.getList(LEGACY_COMMENT_IDS, Object.class);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                    new Update()
+                            .set("commentCount", ids != null ? ids.size() : 0)
+                            .set(TOP_LEVEL_COUNT, ids != null ? ids.size() : 0)
+                            .set("commentPreview", new ArrayList<>())
+                            .unset(LEGACY_COMMENT_IDS),
+                    Post.class);
+
+            Post post = new Post();
+            post.setId(id.toString());
+            post.setCommentCount(ids != null ? ids.size() : 0);
+            post.setTopLevelCommentCount(ids != null ? ids.size() : 0);
+            refillPreview(post);
+        }
+        if (!posts.isEmpty()) {
+            logger.info("Migrated comment id lists of " + posts.size() + " posts");
+        }
+    }
+
+    /**
+     * Count the top-level comments of posts created before the count was kept
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateTopLevelCommentCounts() {
+        Query missing = Query.query(Criteria.where(TOP_LEVEL_COUNT).exists(false));
+        missing.fields().include("_id");
+        List<Document> posts = mongoTemplate.find(missing, Document.class, mongoTemplate.getCollectionName(Post.class));
+        for (Document post : posts) {
+            Object id = post.get("_id");
+            long count = mongoTemplate.count(
+                    Query.query(Criteria.where("postId").is(id.toString()).and("parentId").is(null)), Comment.class);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id).and(TOP_LEVEL_COUNT).exists(false)),
+                    new Update().set(TOP_LEVEL_COUNT, count), Post.class);
+        }
+        if (!posts.isEmpty()) {
+            logger.info("Counted top-level comments of " + posts.size() + " posts");
+        }
+    }
 
-        // Check if user is either comment owner or post owner
-        if (!comment.getUserId().equals(userId) && !post.getUserId().equals(userId)) {
-            throw new IllegalArgumentException("You don't have permission to delete this comment");
+    /**
+     * Give comments created before threading a path and depth of their own
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateFlatComments() {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("path").toValue(ConvertOperators.valueOf("_id").convertToString())
+                .set("depth").toValue(0)
+                .set("replyCount").toValue(0);
+        UpdateResult result = mongoTemplate.updateMulti(Query.query(Criteria.where("path").exists(false)), update,
+                Comment.class);
+        if (result.getModifiedCount() > 0) {
+            logger.info("Added thread paths to " + result.getModifiedCount() + " comments");
         }
+    }
 
-        // Remove comment ID from post's comments list
-        post.getComments().remove(commentId);
-        postRepository.save(post);
+    private Query postQuery(String postId) {
+        return Query.query(Criteria.where("id").is(postId));
+    }
+
+    private String pathOf(Comment comment) {
+        return comment.getPath() != null ? comment.getPath() : comment.getId();
+    }
 
-        // Delete the comment
-        commentRepository.deleteById(commentId);
+    /**
+     * Strict descendants of the comment with the given path, optionally after a path cursor.
+     * Ids are hex, so everything under "a/b/" sorts below "a/b0" ('0' follows '/').
+     */
+    static Criteria subtreeCriteria(String path, String after) {
+        return Criteria.where("path")
+                .gt(after != null ? after : path + PATH_SEPARATOR)
+                .lt(path + (char) (PATH_SEPARATOR + 1));
     }
 
     // Keep the original method for backward compatibility
-    public void deleteComment(String commentId, String userId) {
-        deleteComment(commentId, userId, false);
+    public long deleteComment(String commentId, String userId) {
+        return deleteComment(commentId, userId, false);
     }
 
-    public List<CommentResponse> getPostComments(String postId) {
-        try {
-            return commentRepository.findByPostIdOrderByCreatedAtAsc(postId)
-                    .stream()
-                    .map(this::convertToCommentResponse)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            // Log error and return empty list
-            System.err.println("Error fetching comments for post " + postId + ": " + e.getMessage());
-            return Collections.emptyList();
+    /**
+     * Get one page of a post's top-level comments, newest first
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, clamped to MAX_PAGE_SIZE
+     * @param includeTotal also report how many top-level comments the post has (the total paged
+     *                     through, without replies), read from the post rather than counted
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorPage<CommentResponse> getPostCommentsPage(String postId, String cursor, Integer limit,
+            boolean includeTotal) {
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = keysetPageable(pageSize, Sort.Direction.DESC);
+
+        List<Comment> comments;
+        if (cursor == null || cursor.isEmpty()) {
+            comments = commentRepository.findPostPage(postId, pageable);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            comments = commentRepository.findPostPageBefore(postId, position.getCreatedAt(), position.getId(),
+                    pageable);
+        }
+
+        CursorPage<CommentResponse> page = toCursorPage(comments, pageSize);
+        if (includeTotal) {
+            Query countQuery = postQuery(postId);
+            countQuery.fields().include(TOP_LEVEL_COUNT);
+            Post post = mongoTemplate.findOne(countQuery, Post.class);
+            page.setTotalCount(post != null ? post.getTopLevelCommentCount() : 0L);
+        }
+        return page;
+    }
+
+    /**
+     * Get one page of the direct replies to a comment, oldest first
+     * @throws IllegalArgumentException if the comment does not exist or the cursor is malformed
+     */
+    public CursorPage<CommentResponse> getRepliesPage(String commentId, String cursor, Integer limit) {
+        Comment parent = commentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = keysetPageable(pageSize, Sort.Direction.ASC);
+
+        List<Comment> replies;
+        if (cursor == null || cursor.isEmpty()) {
+            replies = commentRepository.findReplyPage(parent.getPostId(), commentId, pageable);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            replies = commentRepository.findReplyPageAfter(parent.getPostId(), commentId, position.getCreatedAt(),
+                    position.getId(), pageable);
+        }
+        return toCursorPage(replies, pageSize);
+    }
+
+    /**
+     * Get one page of everything below a comment in thread order (each reply directly
+     * after its parent, siblings oldest first), with one range query on the path index.
+     * Render indentation from each reply's depth.
+     * @throws IllegalArgumentException if the comment does not exist or the cursor is malformed
+     */
+    public CursorPage<CommentResponse> getThreadPage(String commentId, String cursor, Integer limit) {
+        Comment root = commentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        String path = pathOf(root);
+        int pageSize = normalizePageSize(limit);
+
+        String after = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            after = decodePathCursor(cursor);
+            if (!after.startsWith(path + PATH_SEPARATOR)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        Query query = Query.query(subtreeCriteria(path, after))
+                .with(Sort.by(Sort.Direction.ASC, "path"))
+                .limit(pageSize + 1);
+        List<Comment> replies = mongoTemplate.find(query, Comment.class);
+
+        String nextCursor = null;
+        if (replies.size() > pageSize) {
+            replies = replies.subList(0, pageSize);
+            nextCursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(replies.get(pageSize - 1).getPath().getBytes(StandardCharsets.UTF_8));
         }
+        return new CursorPage<>(convertToCommentResponses(replies), nextCursor);
     }
 
-    public Page<CommentResponse> getPostComments(String postId, PageRequest pageRequest) {
+    private String decodePathCursor(String cursor) {
         try {
-            Page<Comment> commentPage = commentRepository.findByPostIdOrderByCreatedAtDesc(postId, pageRequest);
-            List<CommentResponse> commentResponses = commentPage.getContent().stream()
-                    .map(this::convertToCommentResponse)
-                    .collect(Collectors.toList());
-
-            return new PageImpl<>(
-                    commentResponses,
-                    pageRequest,
-                    commentPage.getTotalElements());
-        } catch (Exception e) {
-            // Log error and return empty page
-            System.err.println("Error fetching paged comments for post " + postId + ": " + e.getMessage());
-            return new PageImpl<>(Collections.emptyList(), pageRequest, 0);
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private int normalizePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Fetch one extra row so we know whether a next page exists without a count query
+    private Pageable keysetPageable(int pageSize, Sort.Direction direction) {
+        return PageRequest.of(0, pageSize + 1, Sort.by(direction, "createdAt", "id"));
+    }
+
+    private CursorPage<CommentResponse> toCursorPage(List<Comment> comments, int pageSize) {
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            Comment last = comments.get(pageSize - 1);
+            nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
         }
+        return new CursorPage<>(convertToCommentResponses(comments), nextCursor);
     }
 
+    /**
+     * The latest top-level comments of a post, newest first. Replies are loaded per
+     * comment with {@link #getRepliesPage} or {@link #getThreadPage}.
+     */
     public List<CommentResponse> getPostComments(String postId, int limit) {
         try {
-            return commentRepository.findByPostIdOrderByCreatedAtDesc(postId, PageRequest.of(0, limit))
-                    .getContent()
-                    .stream()
-                    .map(this::convertToCommentResponse)
-                    .collect(Collectors.toList());
+            return getPostCommentsPage(postId, null, limit, false).getItems();
         } catch (Exception e) {
-            // Log error and return empty list
-            System.err.println("Error fetching limited comments for post " + postId + ": " + e.getMessage());
+            logger.log(Level.WARNING, "Error fetching limited comments for post " + postId, e);
             return Collections.emptyList();
         }
     }
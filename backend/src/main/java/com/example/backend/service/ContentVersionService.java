@@ -0,0 +1,152 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Post;
+import com.example.backend.model.StatsCounter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Strong validators for the post, comment and feed JSON endpoints.
+ * Post and comment-list versions are stored on the post and incremented by every write
+ * that changes them, together with its changedAt. The feed version is read from the most
+ * recently changed post and the post count, so post writes never touch a shared document;
+ * only the rare author changes bump a shared counter in stats_counters. Every node
+ * computes the same ETags. The latest versions are kept in memory for
+ * cache.content-version.ttl-seconds, so a conditional GET can be answered with 304 before
+ * any repository or enrichment work runs. A write on this node invalidates at once; other
+ * nodes may answer 304 for a stale version until the entry expires.
+ * Writers must call {@link #postChanged(String)} or {@link #commentsChanged(String)} after
+ * their update, and {@link #postCreated()} for new posts.
+ */
+@Service
+public class ContentVersionService {
+
+    private static final long[] MISSING = new long[0];
+    private static final String SHARED_COUNTER_ID = "content_versions";
+    private static final String FEED = "feed";
+    // Author names and pictures are part of every payload but are not versioned per post
+    private static final String AUTHORS = "authors";
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, long[]> versions;
+    // Single entry: the authors version
+    private final Cache<String, Long> authorVersion;
+    // Single entry: post count, newest changed post id and its version
+    private final Cache<String, String> feedVersion;
+
+    public ContentVersionService(
+            MongoTemplate mongoTemplate,
+            @Value("${cache.content-version.max-size:100000}") long maxSize,
+            @Value("${cache.content-version.ttl-seconds:5}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.authorVersion = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.feedVersion = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * ETag for GET /api/posts/{postId}
+     * @return the ETag, or null if the post does not exist
+     */
+    public String postEtag(String postId) {
+        long[] version = getVersions(postId);
+        return version == MISSING ? null
+                : etag("p", postId + "." + version[0] + "." + getAuthorVersion());
+    }
+
+    /**
+     * ETag for the comment list of a post
+     * @return the ETag, or null if the post does not exist
+     */
+    public String commentsEtag(String postId) {
+        long[] version = getVersions(postId);
+        return version == MISSING ? null
+                : etag("c", postId + "." + version[1] + "." + getAuthorVersion());
+    }
+
+    /**
+     * ETag for the global and per-user feed pages; any post, like or comment change moves it
+     */
+    public String feedEtag() {
+        return etag("f", getFeedVersion() + "." + getAuthorVersion());
+    }
+
+    public void postCreated() {
+        feedVersion.invalidateAll();
+    }
+
+    /**
+     * The post itself changed (content, media, likes, comment count) or was deleted
+     */
+    public void postChanged(String postId) {
+        versions.invalidate(postId);
+        feedVersion.invalidateAll();
+    }
+
+    /**
+     * A comment on the post was created, edited or deleted
+     */
+    public void commentsChanged(String postId) {
+        postChanged(postId);
+    }
+
+    /**
+     * A user's display name or picture changed
+     */
+    public void authorChanged() {
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(SHARED_COUNTER_ID)),
+                new Update().inc("counts." + AUTHORS, 1).set("updatedAt", new Date()), StatsCounter.class);
+        authorVersion.invalidateAll();
+    }
+
+    private long getAuthorVersion() {
+        return authorVersion.get(SHARED_COUNTER_ID, id -> {
+            StatsCounter counter = mongoTemplate.findById(id, StatsCounter.class);
+            return counter != null ? counter.getCounts().getOrDefault(AUTHORS, 0L) : 0L;
+        });
+    }
+
+    private String getFeedVersion() {
+        return feedVersion.get(FEED, key -> {
+            // Served by the changedAt_id index; the count catches deletions
+            Query newest = new Query()
+                    .with(Sort.by(Sort.Direction.DESC, "changedAt", "id"))
+                    .limit(1);
+            newest.fields().include("version");
+            Post post = mongoTemplate.findOne(newest, Post.class);
+            long count = mongoTemplate.estimatedCount(Post.class);
+            return post == null ? "0" : count + "." + post.getId() + "." + post.getVersion();
+        });
+    }
+
+    private long[] getVersions(String postId) {
+        // A write invalidating the key waits for an in-flight load, so a stale read is never kept
+        return versions.get(postId, id -> {
+            Query query = Query.query(Criteria.where("id").is(id));
+            query.fields().include("version").include("commentsVersion");
+            Post post = mongoTemplate.findOne(query, Post.class);
+            return post == null ? MISSING : new long[] { post.getVersion(), post.getCommentsVersion() };
+        });
+    }
+
+    private String etag(String kind, String value) {
+        return "\"" + kind + "-" + value + "\"";
+    }
+}
@@ -2,26 +2,31 @@ package com.example.backend.service;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
 @Service
 public class FileStorageService {
     private final Path fileStorageLocation;
     private final String baseUrl;
+    private final MediaUploadSink mediaUploadSink;
 
     public FileStorageService(
             @Value("${file.upload-dir:uploads}") String uploadDir,
-            @Value("${app.base-url:http://localhost:8081}") String baseUrl) {
+            @Value("${app.base-url:http://localhost:8081}") String baseUrl,
+            MediaUploadSink mediaUploadSink) {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
         this.baseUrl = baseUrl;
+        this.mediaUploadSink = mediaUploadSink;
         try {
             Files.createDirectories(this.fileStorageLocation);
         } catch (Exception ex) {
@@ -29,10 +34,28 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Store a file under the SHA-256 of its content, so identical uploads share one file.
+     * The upload is written and hashed in one pass, then renamed to its content name.
+     */
     public String storeFile(MultipartFile file) throws IOException {
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path targetLocation = this.fileStorageLocation.resolve(fileName);
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        // Write to a temporary name first so a concurrent reader never sees a partial file
+        Path tempFile = Files.createTempFile(this.fileStorageLocation, "upload", ".part");
+        String fileName;
+        try {
+            MediaUploadSink.Result result;
+            try (ReadableByteChannel source = Channels.newChannel(file.getInputStream())) {
+                result = mediaUploadSink.write(source, tempFile, null);
+            }
+            fileName = result.getSha256() + extensionOf(file.getOriginalFilename());
+            Path targetLocation = this.fileStorageLocation.resolve(fileName);
+            if (!Files.exists(targetLocation)) {
+                // Same name means same bytes, so racing with an identical upload is harmless
+                Files.move(tempFile, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
 
         // Return full URL for the file
         return ServletUriComponentsBuilder.fromHttpUrl(baseUrl)
@@ -40,4 +63,13 @@ public class FileStorageService {
                 .path(fileName)
                 .toUriString();
     }
+
+    private String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        // Only keep simple extensions, the name is used in a URL path
+        return extension != null && extension.matches("[A-Za-z0-9]{1,8}") ? "." + extension.toLowerCase() : "";
+    }
 }
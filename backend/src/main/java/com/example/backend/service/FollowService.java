@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Follow;
+import com.example.backend.model.FollowerCount;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class FollowService {
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    /**
+     * Follow a user and pull their recent posts into the follower's timeline
+     */
+    public void follow(String followerId, String followeeId) {
+        if (followerId.equals(followeeId)) {
+            throw new IllegalArgumentException("You cannot follow yourself");
+        }
+        if (!userRepository.existsById(followeeId)) {
+            throw new IllegalArgumentException("User not found with id: " + followeeId);
+        }
+
+        try {
+            followRepository.insert(new Follow(followerId, followeeId));
+        } catch (DuplicateKeyException e) {
+            // Already following
+            return;
+        }
+        incrementFollowerCount(followeeId, 1);
+        timelineService.backfillFromAuthor(followerId, followeeId);
+    }
+
+    /**
+     * Unfollow a user and drop their posts from the follower's timeline
+     */
+    public void unfollow(String followerId, String followeeId) {
+        if (followRepository.deleteByFollowerIdAndFolloweeId(followerId, followeeId) > 0) {
+            incrementFollowerCount(followeeId, -1);
+            timelineService.removeAuthor(followerId, followeeId);
+        }
+    }
+
+    public List<String> getFolloweeIds(String userId) {
+        return followRepository.findByFollowerId(userId).stream()
+                .map(Follow::getFolloweeId)
+                .collect(Collectors.toList());
+    }
+
+    private void incrementFollowerCount(String userId, int delta) {
+        mongoTemplate.upsert(new Query(Criteria.where("userId").is(userId)),
+                new Update().inc("count", delta), FollowerCount.class);
+    }
+}
@@ -4,16 +4,12 @@ import com.example.backend.model.User;
 import com.example.backend.repository.UserRepository;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.util.Collections;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,14 +19,23 @@ public class GoogleAuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final String clientId;
+    private final TokenService tokenService;
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final UserSummaryService userSummaryService;
 
     public GoogleAuthService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
-            @Value("${google.oauth.client-id}") String clientId) {
+            @Value("${google.oauth.client-id}") String clientId,
+            TokenService tokenService,
+            GoogleTokenVerifier googleTokenVerifier,
+            UserSummaryService userSummaryService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.clientId = clientId;
+        this.tokenService = tokenService;
+        this.googleTokenVerifier = googleTokenVerifier;
+        this.userSummaryService = userSummaryService;
     }
 
     public User authenticateGoogleUser(String idTokenString) throws Exception {
@@ -44,13 +49,7 @@ public class GoogleAuthService {
         System.out.println("Attempting to verify token: " + tokenDebug);
 
         try {
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(), new GsonFactory())
-                    .setAudience(Collections.singletonList(clientId))
-                    .setIssuer("https://accounts.google.com")
-                    .build();
-
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            GoogleIdToken idToken = googleTokenVerifier.verify(idTokenString);
             if (idToken == null) {
                 System.err.println("Token verification failed - token is invalid");
                 throw new IllegalArgumentException("Invalid Google ID token");
@@ -75,12 +74,14 @@ public class GoogleAuthService {
                 if (picture != null && !picture.equals(existingUser.getProfilePicture())) {
                     existingUser.setProfilePicture(picture);
                     userRepository.save(existingUser);
+                    userSummaryService.evict(existingUser.getId());
                 }
                 
                 // Generate a random password for OAuth users that won't be used for login
                 // but needed for Basic Auth
                 String randomPass = UUID.randomUUID().toString();
                 existingUser.setRawPassword(randomPass);
+                existingUser.setToken(tokenService.issueToken(existingUser));
                 
                 return existingUser;
             }
@@ -97,7 +98,9 @@ public class GoogleAuthService {
             newUser.setPassword(passwordEncoder.encode(randomPassword));
             newUser.setRawPassword(randomPassword); // For Basic Auth
             
-            return userRepository.save(newUser);
+            User savedUser = userRepository.save(newUser);
+            savedUser.setToken(tokenService.issueToken(savedUser));
+            return savedUser;
         } catch (GeneralSecurityException | IOException e) {
             System.err.println("Google token verification failed with technical error: " + e.getMessage());
             e.printStackTrace(); // More detailed stack trace in logs
@@ -0,0 +1,103 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google's published signing certificates by key id, fetched over one shared HTTP
+ * transport. Honours the max-age of the certs endpoint; a background task reloads
+ * them shortly before they expire so logins never wait on the fetch.
+ */
+public class GoogleCertsKeySource implements GooglePublicKeySource {
+    private static final Logger logger = Logger.getLogger(GoogleCertsKeySource.class.getName());
+    private static final String CERTS_URL = "https://www.googleapis.com/oauth2/v1/certs";
+    private static final Pattern MAX_AGE = Pattern.compile("\\s*max-age\\s*=\\s*(\\d+)\\s*");
+    private static final long REFRESH_AHEAD_MILLIS = 10 * 60 * 1000L;
+
+    private final HttpRequestFactory requestFactory = new NetHttpTransport().createRequestFactory();
+
+    private volatile Map<String, PublicKey> publicKeys = Collections.emptyMap();
+    private volatile long expirationTimeMillis;
+
+    @Override
+    public Map<String, PublicKey> getPublicKeys() throws GeneralSecurityException, IOException {
+        if (System.currentTimeMillis() >= expirationTimeMillis) {
+            synchronized (this) {
+                if (System.currentTimeMillis() >= expirationTimeMillis) {
+                    refresh();
+                }
+            }
+        }
+        return publicKeys;
+    }
+
+    @Override
+    public synchronized void refresh() throws GeneralSecurityException, IOException {
+        HttpResponse response = requestFactory.buildGetRequest(new GenericUrl(CERTS_URL)).execute();
+        try {
+            Map<String, String> certificates;
+            try (InputStream in = response.getContent()) {
+                certificates = new ObjectMapper().readValue(in, new TypeReference<Map<String, String>>() {
+                });
+            }
+            publicKeys = Collections.unmodifiableMap(StaticGoogleKeySource.toPublicKeys(certificates));
+            expirationTimeMillis = System.currentTimeMillis() + cacheTimeSeconds(response.getHeaders()) * 1000L;
+        } finally {
+            response.disconnect();
+        }
+    }
+
+    /**
+     * Reload the keys ahead of their expiry. Also warms the cache right after startup.
+     */
+    @Scheduled(fixedDelayString = "${google.oauth.keys-refresh-check-ms:60000}")
+    public void refreshIfExpiring() {
+        long remaining = expirationTimeMillis - System.currentTimeMillis();
+        if (remaining > REFRESH_AHEAD_MILLIS) {
+            return;
+        }
+        try {
+            refresh();
+            logger.info("Refreshed Google public keys, valid until " + new java.util.Date(expirationTimeMillis));
+        } catch (Exception e) {
+            // Keep serving the keys we have; getPublicKeys() retries on demand once they expire
+            logger.warning("Failed to refresh Google public keys: " + e.getMessage());
+        }
+    }
+
+    /**
+     * max-age minus Age, the same lifetime GooglePublicKeysManager used
+     */
+    private static long cacheTimeSeconds(HttpHeaders headers) {
+        long maxAge = 0;
+        if (headers.getCacheControl() != null) {
+            for (String directive : headers.getCacheControl().split(",")) {
+                Matcher matcher = MAX_AGE.matcher(directive);
+                if (matcher.matches()) {
+                    maxAge = Long.parseLong(matcher.group(1));
+                    break;
+                }
+            }
+        }
+        if (headers.getAge() != null) {
+            maxAge -= headers.getAge();
+        }
+        return Math.max(0, maxAge);
+    }
+}
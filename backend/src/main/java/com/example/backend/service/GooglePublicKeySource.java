@@ -0,0 +1,24 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Supplies the public keys Google ID tokens are checked against.
+ * Implementations are expected to cache; getPublicKeys() is called on every login.
+ */
+public interface GooglePublicKeySource {
+
+    /**
+     * Current keys by key id (the "kid" in a token's header)
+     */
+    Map<String, PublicKey> getPublicKeys() throws GeneralSecurityException, IOException;
+
+    /**
+     * Force a reload, e.g. when a token is signed with a key we have not seen yet
+     */
+    default void refresh() throws GeneralSecurityException, IOException {
+    }
+}
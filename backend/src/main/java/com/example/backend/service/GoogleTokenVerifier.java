@@ -0,0 +1,83 @@
+package com.example.backend.service;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived verifier for Google ID tokens. Checks issuer, audience and expiry,
+ * then the signature against the cached keys from {@link GooglePublicKeySource}.
+ * Keys are only reloaded on demand for a kid we do not have, at most once per
+ * google.oauth.forced-refresh-interval-ms, so forged tokens cannot hammer the certs endpoint.
+ */
+@Service
+public class GoogleTokenVerifier {
+    private static final Collection<String> ISSUERS = Arrays.asList("accounts.google.com",
+            "https://accounts.google.com");
+    private static final long ACCEPTABLE_TIME_SKEW_SECONDS = 300;
+
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final Collection<String> audience;
+    private final GooglePublicKeySource keySource;
+    private final long forcedRefreshIntervalMs;
+    private final AtomicLong lastForcedRefresh = new AtomicLong();
+
+    public GoogleTokenVerifier(
+            @Value("${google.oauth.client-id}") String clientId,
+            GooglePublicKeySource keySource,
+            @Value("${google.oauth.forced-refresh-interval-ms:60000}") long forcedRefreshIntervalMs) {
+        this.audience = Collections.singletonList(clientId);
+        this.keySource = keySource;
+        this.forcedRefreshIntervalMs = forcedRefreshIntervalMs;
+    }
+
+    /**
+     * Verify a Google ID token
+     * @return the parsed token, or null if it is invalid
+     */
+    public GoogleIdToken verify(String idTokenString) throws GeneralSecurityException, IOException {
+        GoogleIdToken idToken;
+        try {
+            idToken = GoogleIdToken.parse(jsonFactory, idTokenString);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        if (!idToken.verifyIssuer(ISSUERS)
+                || !idToken.verifyAudience(audience)
+                || !idToken.verifyTime(System.currentTimeMillis(), ACCEPTABLE_TIME_SKEW_SECONDS)) {
+            return null;
+        }
+
+        String keyId = idToken.getHeader().getKeyId();
+        if (keyId == null) {
+            return null;
+        }
+        Map<String, PublicKey> publicKeys = keySource.getPublicKeys();
+        if (!publicKeys.containsKey(keyId) && tryStartForcedRefresh()) {
+            // Google may have rotated in a key we have not fetched yet
+            keySource.refresh();
+            publicKeys = keySource.getPublicKeys();
+        }
+
+        PublicKey publicKey = publicKeys.get(keyId);
+        return publicKey != null && idToken.verifySignature(publicKey) ? idToken : null;
+    }
+
+    private boolean tryStartForcedRefresh() {
+        long now = System.currentTimeMillis();
+        long last = lastForcedRefresh.get();
+        return now - last >= forcedRefreshIntervalMs && lastForcedRefresh.compareAndSet(last, now);
+    }
+}
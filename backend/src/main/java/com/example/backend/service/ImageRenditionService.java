@@ -0,0 +1,279 @@
+package com.example.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Produces fixed-width downscaled copies of uploaded images with the JDK's ImageIO.
+ * Opaque images are written as JPEG, images with transparency as PNG. ImageIO ignores
+ * the EXIF orientation of JPEGs, so it is applied here before scaling; renditions are
+ * always stored upright and carry no EXIF.
+ */
+@Service
+public class ImageRenditionService {
+
+    private final int[] widths;
+    private final float jpegQuality;
+
+    public ImageRenditionService(
+            @Value("${media.renditions.widths:320,640,1080}") int[] widths,
+            @Value("${media.renditions.jpeg-quality:0.8}") float jpegQuality) {
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        this.jpegQuality = jpegQuality;
+    }
+
+    public static class EncodedImage {
+        private final int width;
+        private final int height;
+        private final String contentType;
+        private final byte[] data;
+
+        EncodedImage(int width, int height, String contentType, byte[] data) {
+            this.width = width;
+            this.height = height;
+            this.contentType = contentType;
+            this.data = data;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Animated GIFs would lose their animation, so they are served as uploaded
+     */
+    public boolean supports(String contentType) {
+        return contentType != null && contentType.startsWith("image/") && !"image/gif".equals(contentType);
+    }
+
+    /**
+     * Generate every configured width that is smaller than the source image
+     * @return renditions ascending by width, empty if the format cannot be decoded
+     */
+    public List<EncodedImage> generate(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return Collections.emptyList();
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return Collections.emptyList();
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int orientation = readExifOrientation(source);
+                boolean swapsAxes = orientation >= 5 && orientation <= 8;
+                // Dimensions as displayed, after the orientation is applied
+                int sourceWidth = swapsAxes ? reader.getHeight(0) : reader.getWidth(0);
+                int sourceHeight = swapsAxes ? reader.getWidth(0) : reader.getHeight(0);
+                int[] targets = Arrays.stream(widths).filter(width -> width < sourceWidth).toArray();
+                if (targets.length == 0) {
+                    return Collections.emptyList();
+                }
+
+                // Decode with subsampling so a 12MP photo is never fully materialized,
+                // while keeping at least the largest target width
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, sourceWidth / targets[targets.length - 1]);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage current = orient(reader.read(0, param), orientation);
+
+                // Scale down step by step from the largest target, each step at most ~2x
+                List<EncodedImage> renditions = new ArrayList<>();
+                for (int i = targets.length - 1; i >= 0; i--) {
+                    int width = targets[i];
+                    int height = Math.max(1, (int) Math.round((double) sourceHeight * width / sourceWidth));
+                    current = scale(current, width, height);
+                    renditions.add(0, encode(current));
+                }
+                return renditions;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Rotate and/or mirror a decoded image so it displays upright
+     * @param orientation EXIF orientation, 1 (or anything unknown) leaves the image as is
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform;
+        switch (orientation) {
+            case 2: transform = new AffineTransform(-1, 0, 0, 1, w, 0); break;  // mirror horizontal
+            case 3: transform = new AffineTransform(-1, 0, 0, -1, w, h); break; // rotate 180
+            case 4: transform = new AffineTransform(1, 0, 0, -1, 0, h); break;  // mirror vertical
+            case 5: transform = new AffineTransform(0, 1, 1, 0, 0, 0); break;   // transpose
+            case 6: transform = new AffineTransform(0, 1, -1, 0, h, 0); break;  // rotate 90 clockwise
+            case 7: transform = new AffineTransform(0, -1, -1, 0, h, w); break; // transverse
+            case 8: transform = new AffineTransform(0, -1, 1, 0, 0, w); break;  // rotate 90 counter-clockwise
+            default: return source;
+        }
+
+        boolean swapsAxes = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swapsAxes ? h : w, swapsAxes ? w : h,
+                source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    /**
+     * The orientation tag (0x0112) from a JPEG's EXIF block
+     * @return 1 to 8, or 1 if the file is not a JPEG or has no readable orientation
+     */
+    static int readExifOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // Start of scan or end of image: no metadata after this point
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker != 0xFFE1) {
+                    skipFully(in, length);
+                    continue;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                int orientation = parseOrientation(segment);
+                if (orientation != 0) {
+                    return orientation;
+                }
+                // APP1 can also hold XMP; keep looking for the EXIF one
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * @return the orientation in an "Exif\0\0" APP1 segment, or 0 if there is none
+     */
+    private static int parseOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        // TIFF header: byte order, magic 42, offset of the first IFD, all relative to its start
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) != 'M' || tiff.get(1) != 'M') {
+            return 0;
+        }
+        int ifd = tiff.getInt(4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        while (count > 0) {
+            long skipped = in.skip(count);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            count -= skipped;
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int width, int height) {
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage scaled = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private EncodedImage encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", out);
+            return new EncodedImage(image.getWidth(), image.getHeight(), "image/png", out.toByteArray());
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new EncodedImage(image.getWidth(), image.getHeight(), "image/jpeg", out.toByteArray());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.backend.service;
+
+import com.example.backend.model.LiveEvent;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Logger;
+
+/**
+ * Multi-node delivery for live updates: watches inserts into live_events with a
+ * MongoDB change stream (requires a replica set) and hands them to this node's
+ * subscribers. Enabled with live.change-stream.enabled=true on every node.
+ */
+@Component
+@ConditionalOnProperty(name = "live.change-stream.enabled", havingValue = "true")
+public class LiveEventChangeStreamRelay {
+    private static final Logger logger = Logger.getLogger(LiveEventChangeStreamRelay.class.getName());
+
+    private final MongoTemplate mongoTemplate;
+    private final LiveUpdateService liveUpdateService;
+    private MessageListenerContainer container;
+
+    public LiveEventChangeStreamRelay(MongoTemplate mongoTemplate, LiveUpdateService liveUpdateService) {
+        this.mongoTemplate = mongoTemplate;
+        this.liveUpdateService = liveUpdateService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        MessageListener<ChangeStreamDocument<Document>, LiveEvent> listener = message -> {
+            LiveEvent event = message.getBody();
+            if (event != null) {
+                liveUpdateService.dispatch(event);
+            }
+        };
+        ChangeStreamRequest<LiveEvent> request = ChangeStreamRequest.builder(listener)
+                .collection(mongoTemplate.getCollectionName(LiveEvent.class))
+                .filter(Aggregation.newAggregation(Aggregation.match(Criteria.where("operationType").is("insert"))))
+                .build();
+        container.register(request, LiveEvent.class,
+                e -> logger.warning("Live event change stream error: " + e.getMessage()));
+        container.start();
+        logger.info("Relaying live events through the " + mongoTemplate.getCollectionName(LiveEvent.class)
+                + " change stream");
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
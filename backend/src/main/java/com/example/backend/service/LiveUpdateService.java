@@ -0,0 +1,306 @@
+package com.example.backend.service;
+
+import com.example.backend.model.LiveEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * In-process pub/sub behind the live updates SSE endpoint. Every subscriber has a
+ * bounded buffer drained by its own task on the live update executor. Publishers only
+ * ever enqueue: they never touch an emitter, whose monitor a drain stuck writing to a
+ * slow socket may hold. A subscriber whose buffer overflows, or whose write stalls
+ * longer than live.subscriber.send-timeout-ms, is marked closed and completed by its
+ * own drain task once the write returns; the client reconnects and reloads.
+ * With live.change-stream.enabled, events are written to live_events and delivered on
+ * every node by {@link LiveEventChangeStreamRelay} instead of locally.
+ */
+@Service
+public class LiveUpdateService {
+    private static final Logger logger = Logger.getLogger(LiveUpdateService.class.getName());
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final MongoTemplate mongoTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int bufferSize;
+    private final int maxPostIds;
+    private final long timeoutMs;
+    private final boolean relayEnabled;
+    private final long sendTimeoutMs;
+    // Own timer thread: heartbeats must not share the single @Scheduled thread with other jobs
+    private final ScheduledExecutorService heartbeatTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "LiveUpdate-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> subscribersByPost = new ConcurrentHashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong droppedSlowConsumers = new AtomicLong();
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<String> postIds;
+        final BlockingQueue<Object> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+        // System.nanoTime() when the current send started, 0 when not sending
+        volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter, Set<String> postIds, int bufferSize) {
+            this.emitter = emitter;
+            this.postIds = postIds;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    public LiveUpdateService(
+            MongoTemplate mongoTemplate,
+            @Qualifier("liveUpdateExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${live.subscriber.buffer-size:64}") int bufferSize,
+            @Value("${live.subscriber.max-post-ids:100}") int maxPostIds,
+            @Value("${live.subscriber.timeout-ms:1800000}") long timeoutMs,
+            @Value("${live.change-stream.enabled:false}") boolean relayEnabled,
+            @Value("${live.subscriber.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${live.heartbeat-ms:20000}") long heartbeatMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.maxPostIds = maxPostIds;
+        this.timeoutMs = timeoutMs;
+        this.relayEnabled = relayEnabled;
+        this.sendTimeoutMs = sendTimeoutMs;
+        heartbeatTimer.scheduleWithFixedDelay(() -> {
+            try {
+                sendHeartbeats();
+            } catch (Exception e) {
+                // An escaped exception would cancel the timer for good
+                logger.warning("Error sending live update heartbeats: " + e.getMessage());
+            }
+        }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatTimer.shutdownNow();
+    }
+
+    /**
+     * Open a stream of live events for the given posts
+     * @throws IllegalArgumentException if no post ids or too many are given
+     */
+    public SseEmitter subscribe(Collection<String> postIds) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (postIds != null) {
+            for (String postId : postIds) {
+                if (postId != null && !postId.isBlank()) {
+                    ids.add(postId.trim());
+                }
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one post id is required");
+        }
+        if (ids.size() > maxPostIds) {
+            throw new IllegalArgumentException("At most " + maxPostIds + " post ids can be watched at once");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMs), ids, bufferSize);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribers.add(subscriber);
+        for (String postId : ids) {
+            subscribersByPost.compute(postId, (id, set) -> {
+                Set<Subscriber> watching = set != null ? set : ConcurrentHashMap.newKeySet();
+                watching.add(subscriber);
+                return watching;
+            });
+        }
+        // Flush the response headers right away so the client sees the stream open
+        offer(subscriber, HEARTBEAT);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Publish an event to everyone watching its post. Never throws: live updates are
+     * best effort and must not fail the write that produced them.
+     */
+    public void publish(LiveEvent event) {
+        try {
+            if (relayEnabled) {
+                mongoTemplate.insert(event);
+            } else {
+                dispatch(event);
+            }
+        } catch (Exception e) {
+            logger.warning("Error publishing live event for post " + event.getPostId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver an event to this node's subscribers
+     */
+    public void dispatch(LiveEvent event) {
+        published.incrementAndGet();
+        Set<Subscriber> watching = subscribersByPost.get(event.getPostId());
+        if (watching == null) {
+            return;
+        }
+        for (Subscriber subscriber : watching) {
+            offer(subscriber, event);
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies, notice clients that went away, close
+     * subscribers stuck in a write, and retry drains the executor rejected
+     */
+    void sendHeartbeats() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.closed) {
+                // Closed but its drain was rejected or is still stuck; retry so it gets completed
+                scheduleDrain(subscriber);
+                continue;
+            }
+            long started = subscriber.sendStartedAt;
+            if (started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                droppedSlowConsumers.incrementAndGet();
+                logger.info("Closing live update subscriber stuck writing for over " + sendTimeoutMs + " ms");
+                close(subscriber);
+                continue;
+            }
+            offer(subscriber, HEARTBEAT);
+        }
+    }
+
+    /**
+     * Subscriber and delivery counters for the admin dashboard
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("watchedPosts", subscribersByPost.size());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("droppedSlowConsumers", droppedSlowConsumers.get());
+        stats.put("changeStreamRelay", relayEnabled);
+        return stats;
+    }
+
+    /**
+     * Enqueue for one subscriber. Never blocks and never touches the emitter.
+     */
+    private void offer(Subscriber subscriber, Object item) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.buffer.offer(item)) {
+            droppedSlowConsumers.incrementAndGet();
+            logger.info("Dropping slow live update subscriber watching " + subscriber.postIds.size() + " posts");
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    /**
+     * Stop delivering to a subscriber; its drain task completes the emitter. It stays in
+     * the subscriber set until then so the heartbeat can retry a rejected drain.
+     */
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        stopWatching(subscriber);
+        subscriber.buffer.clear();
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        // At most one drain task per subscriber, so its events stay in order
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(subscriber));
+            } catch (TaskRejectedException e) {
+                // Every drain thread is busy; the buffer keeps the events and the next heartbeat retries
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object item;
+            while (!subscriber.closed && (item = subscriber.buffer.poll()) != null) {
+                subscriber.sendStartedAt = System.nanoTime();
+                if (item == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    LiveEvent event = (LiveEvent) item;
+                    subscriber.emitter.send(SseEmitter.event().name(event.getType()).data(event));
+                    delivered.incrementAndGet();
+                }
+                subscriber.sendStartedAt = 0;
+            }
+            if (subscriber.closed) {
+                unsubscribe(subscriber);
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (Exception e) {
+            // Usually the client disconnected
+            subscriber.closed = true;
+            unsubscribe(subscriber);
+            subscriber.buffer.clear();
+            return;
+        } finally {
+            subscriber.sendStartedAt = 0;
+            subscriber.draining.set(false);
+        }
+
+        // An event may have been offered after the last poll but before the flag was cleared
+        if (!subscriber.buffer.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            stopWatching(subscriber);
+        }
+    }
+
+    private void stopWatching(Subscriber subscriber) {
+        for (String postId : subscriber.postIds) {
+            subscribersByPost.computeIfPresent(postId, (id, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+}
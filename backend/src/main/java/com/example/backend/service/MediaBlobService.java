@@ -0,0 +1,110 @@
+package com.example.backend.service;
+
+import com.example.backend.model.MediaBlob;
+import com.example.backend.model.MediaRendition;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Reference-counted SHA-256 → stored blob index used to deduplicate uploads.
+ * All changes are single-document atomic updates, so concurrent uploads of the
+ * same content end up sharing one blob.
+ */
+@Service
+public class MediaBlobService {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MediaBlobService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Take a reference on an existing blob with this hash
+     * @return the blob, or null if no live blob has this content
+     */
+    public MediaBlob acquire(String sha256) {
+        // Blobs already at zero are being deleted and must not be revived
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("sha256").is(sha256).and("refCount").gt(0)),
+                new Update().inc("refCount", 1L),
+                FindAndModifyOptions.options().returnNew(true),
+                MediaBlob.class);
+    }
+
+    /**
+     * Index a newly stored blob with one reference
+     * @return the indexed blob, or null if the same content was registered concurrently
+     */
+    public MediaBlob register(String sha256, String blobId, String contentType, long size,
+            List<MediaRendition> renditions) {
+        MediaBlob blob = new MediaBlob();
+        blob.setSha256(sha256);
+        blob.setBlobId(blobId);
+        blob.setContentType(contentType);
+        blob.setSize(size);
+        blob.setRefCount(1);
+        blob.setRenditions(renditions != null ? renditions : new ArrayList<>());
+        try {
+            return mongoTemplate.insert(blob);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drop one reference
+     * @return the blob if this was the last reference and its stored files should be deleted, otherwise null
+     */
+    public MediaBlob release(String sha256) {
+        MediaBlob blob = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("sha256").is(sha256).and("refCount").gt(0)),
+                new Update().inc("refCount", -1L),
+                FindAndModifyOptions.options().returnNew(true),
+                MediaBlob.class);
+        if (blob == null || blob.getRefCount() > 0) {
+            return null;
+        }
+        return mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("sha256").is(sha256).and("refCount").lte(0)),
+                MediaBlob.class);
+    }
+
+    public MediaBlob findByBlobId(String blobId) {
+        return mongoTemplate.findOne(Query.query(Criteria.where("blobId").is(blobId)), MediaBlob.class);
+    }
+
+    /**
+     * Hex SHA-256 of a stream, read in 64KB chunks
+     */
+    public static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
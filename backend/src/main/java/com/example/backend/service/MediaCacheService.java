@@ -0,0 +1,233 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Optional cache of hot GridFS media held in off-heap direct buffers, so popular files
+ * are served without a network round trip and without adding to GC pressure.
+ * Bounded by total bytes with Caffeine's W-TinyLFU eviction; only objects below
+ * media.cache.max-object-bytes are admitted. Deleted media must be invalidated.
+ * Entries are reference counted: readers release what they get, and a buffer is freed
+ * explicitly once it has left the cache and its last reader is done, instead of
+ * lingering until a GC finds it. Direct memory use is therefore bounded by max-bytes
+ * plus the evicted entries still being written out.
+ */
+@Service
+public class MediaCacheService {
+    private static final Logger logger = Logger.getLogger(MediaCacheService.class.getName());
+    private static final int LOAD_ATTEMPTS = 3;
+    private static final AtomicLong freed = new AtomicLong();
+    // sun.misc.Unsafe.invokeCleaner(ByteBuffer); null if unavailable, in which case the GC frees buffers
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (Exception e) {
+            logger.warning("Cannot free direct buffers explicitly, evicted media is freed by the GC: " + e.getMessage());
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    public static class CachedMedia {
+        private final ByteBuffer buffer;
+        private final ByteBuffer data;
+        private final String contentType;
+        // One reference held by the cache, plus one per reader
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        CachedMedia(ByteBuffer buffer, String contentType) {
+            this.buffer = buffer;
+            this.data = buffer.asReadOnlyBuffer();
+            this.contentType = contentType;
+        }
+
+        /**
+         * @return false if the buffer has already been freed
+         */
+        boolean retain() {
+            while (true) {
+                int current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Give back a reference obtained from get() or getOrLoad()
+         */
+        public void release() {
+            if (references.decrementAndGet() == 0) {
+                free(buffer);
+            }
+        }
+
+        /**
+         * Read-only view; duplicate() it before changing position or limit
+         */
+        public ByteBuffer getData() {
+            return data;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getLength() {
+            return data.capacity();
+        }
+    }
+
+    @FunctionalInterface
+    public interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    private final boolean enabled;
+    private final long maxObjectBytes;
+    private final Cache<String, CachedMedia> cache;
+
+    public MediaCacheService(
+            @Value("${media.cache.enabled:true}") boolean enabled,
+            @Value("${media.cache.max-bytes:134217728}") long maxBytes,
+            @Value("${media.cache.max-object-bytes:2097152}") long maxObjectBytes) {
+        this.enabled = enabled;
+        this.maxObjectBytes = Math.min(maxObjectBytes, Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String id, CachedMedia media) -> (int) media.getLength())
+                // Run on the removing thread, so the cache's reference is dropped right away
+                .executor(Runnable::run)
+                .removalListener((String id, CachedMedia media, RemovalCause cause) -> {
+                    if (media != null) {
+                        media.release();
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the cached copy, or null on a miss. The caller must release() it when done.
+     */
+    public CachedMedia get(String mediaId) {
+        if (!enabled) {
+            return null;
+        }
+        CachedMedia media = cache.getIfPresent(mediaId);
+        return media != null && media.retain() ? media : null;
+    }
+
+    /**
+     * Whether an object of this size would be cached
+     */
+    public boolean admits(long length) {
+        return enabled && length > 0 && length <= maxObjectBytes;
+    }
+
+    /**
+     * Return the cached copy, loading it once even if many requests miss at the same time
+     * @return the cached copy, to be released by the caller, or null if it was evicted
+     *         before it could be used; the caller should then stream from the source
+     */
+    public CachedMedia getOrLoad(String mediaId, String contentType, long length, StreamOpener opener)
+            throws IOException {
+        try {
+            for (int attempt = 0; attempt < LOAD_ATTEMPTS; attempt++) {
+                CachedMedia media = cache.get(mediaId, id -> load(opener, (int) length, contentType));
+                if (media.retain()) {
+                    return media;
+                }
+            }
+            return null;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void invalidate(String mediaId) {
+        if (mediaId != null) {
+            cache.invalidate(mediaId);
+        }
+    }
+
+    /**
+     * Hit/miss counters for the admin dashboard
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("entries", cache.estimatedSize());
+        result.put("bytes", cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L));
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("freedBuffers", freed.get());
+        return result;
+    }
+
+    private CachedMedia load(StreamOpener opener, int length, String contentType) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        try (InputStream in = opener.open(); ReadableByteChannel channel = Channels.newChannel(in)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Media ended after " + buffer.position() + " of " + length + " bytes");
+                }
+            }
+        } catch (IOException e) {
+            // Not cached, so no removal listener will ever release it
+            free(buffer);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            free(buffer);
+            throw e;
+        }
+        buffer.flip();
+        return new CachedMedia(buffer, contentType);
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            freed.incrementAndGet();
+        } catch (Exception e) {
+            logger.warning("Failed to free direct buffer: " + e.getMessage());
+        }
+    }
+}
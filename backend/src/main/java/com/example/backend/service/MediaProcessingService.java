@@ -0,0 +1,513 @@
+package com.example.backend.service;
+
+import com.example.backend.model.MediaAsset;
+import com.example.backend.model.MediaBlob;
+import com.example.backend.model.MediaRendition;
+import com.example.backend.repository.MediaAssetRepository;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.BsonObjectId;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Moves media work out of the request. Uploads are staged to disk and recorded as
+ * PROCESSING; each file is then persisted to GridFS and local storage and hashed on
+ * the dedicated mediaProcessingExecutor. When its queue is full the asset stays
+ * PROCESSING and is retried by {@link #resumeDeferred()}, never run on the caller.
+ */
+@Service
+public class MediaProcessingService {
+    private static final Logger logger = Logger.getLogger(MediaProcessingService.class.getName());
+
+    private final MediaAssetRepository mediaAssetRepository;
+    private final MongoTemplate mongoTemplate;
+    private final GridFSBucket gridFSBucket;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final ImageRenditionService imageRenditionService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaUploadSink mediaUploadSink;
+    private final MediaCacheService mediaCacheService;
+    private final Path localStorageDir;
+    private final Path stagingDir;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+
+    // Queued or running on this node, so a retry never processes an asset twice
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Rejected by a full queue, waiting for resumeDeferred()
+    private final Map<String, MediaAsset> deferredAssets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MediaProcessingService(
+            MediaAssetRepository mediaAssetRepository,
+            MongoTemplate mongoTemplate,
+            GridFSBucket gridFSBucket,
+            @Qualifier("mediaProcessingExecutor") ThreadPoolTaskExecutor taskExecutor,
+            ImageRenditionService imageRenditionService,
+            MediaBlobService mediaBlobService,
+            MediaUploadSink mediaUploadSink,
+            MediaCacheService mediaCacheService,
+            @Value("${media.storage-dir:backend/uploads}") String storageDir) {
+        this.mediaAssetRepository = mediaAssetRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.gridFSBucket = gridFSBucket;
+        this.taskExecutor = taskExecutor;
+        this.imageRenditionService = imageRenditionService;
+        this.mediaBlobService = mediaBlobService;
+        this.mediaUploadSink = mediaUploadSink;
+        this.mediaCacheService = mediaCacheService;
+        this.localStorageDir = Paths.get(storageDir);
+        this.stagingDir = localStorageDir.resolve("staging");
+    }
+
+    /**
+     * Where a processed file is kept on local disk
+     */
+    public Path resolveStored(String mediaId) {
+        return localStorageDir.resolve(mediaId);
+    }
+
+    /**
+     * Where an upload waits for processing, under the storage directory
+     */
+    public Path resolveStaged(String name) {
+        return stagingDir.resolve(name);
+    }
+
+    /**
+     * Move an upload into the staging area and allocate its media id.
+     * For disk-backed multipart uploads this is a rename, not a copy.
+     * @return the unsaved asset, to be passed to {@link #submit(String, List)}
+     */
+    public MediaAsset stage(String userId, MultipartFile file, String type, String contentType) throws IOException {
+        Files.createDirectories(stagingDir);
+        String mediaId = new ObjectId().toHexString();
+        file.transferTo(resolveStaged(mediaId).toAbsolutePath().toFile());
+
+        MediaAsset asset = new MediaAsset();
+        asset.setId(mediaId);
+        asset.setUserId(userId);
+        asset.setType(type);
+        asset.setContentType(contentType);
+        asset.setFilename(file.getOriginalFilename() != null ? file.getOriginalFilename() : "media_" + type);
+        asset.setSize(file.getSize());
+        return asset;
+    }
+
+    /**
+     * Move an already assembled file (e.g. a committed chunked upload) into the staging area
+     * @return the unsaved asset, to be passed to {@link #submit(String, List)}
+     */
+    public MediaAsset stageFile(String userId, Path source, String filename, String type, String contentType,
+            long size) throws IOException {
+        String mediaId = new ObjectId().toHexString();
+        Files.move(source, resolveStaged(mediaId), StandardCopyOption.ATOMIC_MOVE);
+
+        MediaAsset asset = new MediaAsset();
+        asset.setId(mediaId);
+        asset.setUserId(userId);
+        asset.setType(type);
+        asset.setContentType(contentType);
+        asset.setFilename(filename);
+        asset.setSize(size);
+        return asset;
+    }
+
+    /**
+     * Record staged assets as PROCESSING for the post and queue one task per file
+     */
+    public void submit(String postId, List<MediaAsset> assets) {
+        if (assets == null || assets.isEmpty()) {
+            return;
+        }
+        assets.forEach(asset -> asset.setPostId(postId));
+        mediaAssetRepository.saveAll(assets);
+        assets.forEach(this::enqueue);
+    }
+
+    /**
+     * Drop staged files that never made it into a post
+     */
+    public void discardStaged(Collection<MediaAsset> assets) {
+        for (MediaAsset asset : assets) {
+            try {
+                Files.deleteIfExists(resolveStaged(asset.getId()));
+            } catch (IOException e) {
+                logger.warning("Failed to delete staged media " + asset.getId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Delete media files, their renditions and their processing state. A task still
+     * running for one of these ids notices the missing record and removes what it stored.
+     */
+    public void deleteMedia(Collection<String> mediaIds) {
+        if (mediaIds == null || mediaIds.isEmpty()) {
+            return;
+        }
+
+        // Deduplicated media drops a blob reference; older media without a hash is deleted directly
+        List<String> fileIds = new ArrayList<>(mediaIds);
+        List<String> hashes = new ArrayList<>();
+        for (MediaAsset asset : mediaAssetRepository.findAllById(mediaIds)) {
+            if (asset.getSha256() != null && asset.getBlobId() != null) {
+                fileIds.remove(asset.getId());
+                hashes.add(asset.getSha256());
+            } else if (asset.getRenditions() != null) {
+                asset.getRenditions().forEach(rendition -> fileIds.add(rendition.getMediaId()));
+            }
+        }
+
+        mediaAssetRepository.deleteAllById(mediaIds);
+        for (String mediaId : mediaIds) {
+            try {
+                Files.deleteIfExists(resolveStaged(mediaId));
+            } catch (IOException e) {
+                logger.warning("Failed to delete staged media " + mediaId + ": " + e.getMessage());
+            }
+        }
+        // Errors are logged and do not block the caller
+        fileIds.forEach(this::deleteStoredMedia);
+        hashes.forEach(this::releaseBlob);
+    }
+
+    /**
+     * Drop one reference to a deduplicated blob, deleting its files with the last reference
+     */
+    public void releaseBlob(String sha256) {
+        MediaBlob blob = mediaBlobService.release(sha256);
+        if (blob != null) {
+            deleteStoredMedia(blob.getBlobId());
+            if (blob.getRenditions() != null) {
+                blob.getRenditions().forEach(rendition -> deleteStoredMedia(rendition.getMediaId()));
+            }
+        }
+    }
+
+    /**
+     * The stored blob a deduplicated media id points to
+     * @return the blob id, or null if the media id is not an alias
+     */
+    public String findBlobId(String mediaId) {
+        Query query = Query.query(Criteria.where("id").is(mediaId));
+        query.fields().include("blobId");
+        MediaAsset asset = mongoTemplate.findOne(query, MediaAsset.class);
+        return asset != null ? asset.getBlobId() : null;
+    }
+
+    /**
+     * Pick the smallest rendition at least as wide as requested
+     * @return the rendition, or null if the original should be served
+     */
+    public MediaRendition findRendition(String mediaId, int width) {
+        Query query = Query.query(Criteria.where("id").is(mediaId));
+        query.fields().include("renditions");
+        MediaAsset asset = mongoTemplate.findOne(query, MediaAsset.class);
+        if (asset == null || asset.getRenditions() == null) {
+            return null;
+        }
+        return asset.getRenditions().stream()
+                .filter(rendition -> rendition.getWidth() >= width)
+                .min(Comparator.comparingInt(MediaRendition::getWidth))
+                .orElse(null);
+    }
+
+    /**
+     * Delete one stored file from GridFS and local storage, and drop any cached copy
+     */
+    public void deleteStoredMedia(String mediaId) {
+        mediaCacheService.invalidate(mediaId);
+        try {
+            // Delete from GridFS
+            gridFSBucket.delete(new ObjectId(mediaId));
+        } catch (Exception e) {
+            logger.warning("Error deleting media from GridFS: " + mediaId + " - " + e.getMessage());
+        }
+        try {
+            if (Files.deleteIfExists(resolveStored(mediaId))) {
+                logger.fine("Deleted file: " + resolveStored(mediaId));
+            }
+        } catch (Exception e) {
+            logger.warning("Error deleting media from local storage: " + mediaId + " - " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processing state of every media file attached to a post
+     */
+    public Map<String, Object> getPostMediaStatus(String postId) {
+        List<MediaAsset> assets = mediaAssetRepository.findByPostId(postId);
+
+        String state = MediaAsset.READY;
+        List<Map<String, Object>> media = new ArrayList<>();
+        for (MediaAsset asset : assets) {
+            if (MediaAsset.FAILED.equals(asset.getStatus())) {
+                state = MediaAsset.FAILED;
+            } else if (MediaAsset.PROCESSING.equals(asset.getStatus()) && !MediaAsset.FAILED.equals(state)) {
+                state = MediaAsset.PROCESSING;
+            }
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("mediaId", asset.getId());
+            item.put("type", asset.getType());
+            item.put("status", asset.getStatus());
+            item.put("size", asset.getSize());
+            item.put("error", asset.getError());
+            media.add(item);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("postId", postId);
+        result.put("state", state);
+        result.put("media", media);
+        return result;
+    }
+
+    /**
+     * Pipeline and executor counters for the admin dashboard
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("deduplicated", deduplicated.get());
+        stats.put("uploadBufferPoolMisses", mediaUploadSink.getPoolMisses());
+        stats.put("deferred", deferred.get());
+        stats.put("deferredPending", deferredAssets.size());
+        stats.put("activeThreads", taskExecutor.getActiveCount());
+        stats.put("poolSize", taskExecutor.getPoolSize());
+        stats.put("maxPoolSize", taskExecutor.getMaxPoolSize());
+        stats.put("queueSize", taskExecutor.getThreadPoolExecutor().getQueue().size());
+        stats.put("queueRemainingCapacity", taskExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        return stats;
+    }
+
+    /**
+     * Re-queue work that was interrupted by a restart
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        try {
+            for (MediaAsset asset : mediaAssetRepository.findByStatus(MediaAsset.PROCESSING)) {
+                if (Files.exists(resolveStaged(asset.getId()))) {
+                    enqueue(asset);
+                } else {
+                    markFailed(asset, "Staged upload is missing");
+                }
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to resume pending media processing: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retry assets a full queue turned away. They are still PROCESSING, so a restart
+     * picks them up through resumePending() as well.
+     */
+    @Scheduled(fixedDelayString = "${media.processing.retry-ms:30000}")
+    public void resumeDeferred() {
+        for (MediaAsset asset : deferredAssets.values()) {
+            deferredAssets.remove(asset.getId());
+            if (!enqueue(asset)) {
+                // Still full, leave the rest for the next round
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return false if the queue was full and the asset was deferred
+     */
+    private boolean enqueue(MediaAsset asset) {
+        if (!inFlight.add(asset.getId())) {
+            return true;
+        }
+        try {
+            taskExecutor.execute(() -> process(asset));
+            submitted.incrementAndGet();
+            return true;
+        } catch (TaskRejectedException e) {
+            inFlight.remove(asset.getId());
+            deferred.incrementAndGet();
+            deferredAssets.put(asset.getId(), asset);
+            logger.info("Media queue full, deferring " + asset.getId());
+            return false;
+        }
+    }
+
+    private void process(MediaAsset asset) {
+        Path staged = resolveStaged(asset.getId());
+        try {
+            // Hash the staged copy first so a duplicate never touches GridFS
+            String sha256;
+            try (InputStream in = Files.newInputStream(staged)) {
+                sha256 = MediaBlobService.sha256Hex(in);
+            }
+            MediaBlob blob = linkOrStore(asset, staged, sha256, Files.size(staged));
+
+            Update update = new Update()
+                    .set("status", MediaAsset.READY)
+                    .set("blobId", blob.getBlobId())
+                    .set("renditions", blob.getRenditions())
+                    .set("size", blob.getSize())
+                    .set("sha256", sha256)
+                    .set("processedAt", new Date());
+            long matched = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("id").is(asset.getId()).and("status").is(MediaAsset.PROCESSING)),
+                    update, MediaAsset.class).getMatchedCount();
+            if (matched == 0) {
+                // The post was deleted while we were working
+                releaseBlob(sha256);
+            }
+
+            Files.deleteIfExists(staged);
+            completed.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.warning("Failed to process media " + asset.getId() + ": " + e.getMessage());
+            markFailed(asset, e.getMessage());
+        } finally {
+            inFlight.remove(asset.getId());
+        }
+    }
+
+    /**
+     * Link to the existing blob with this content, or store this upload as a new blob
+     */
+    private MediaBlob linkOrStore(MediaAsset asset, Path staged, String sha256, long size) throws IOException {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            MediaBlob existing = mediaBlobService.acquire(sha256);
+            if (existing != null) {
+                deduplicated.incrementAndGet();
+                return existing;
+            }
+
+            // First copy of this content: store it under the asset's own id
+            storeOriginal(asset, staged, sha256);
+            List<MediaRendition> renditions = createRenditions(asset, staged);
+
+            MediaBlob blob = mediaBlobService.register(sha256, asset.getId(), asset.getContentType(), size, renditions);
+            if (blob != null) {
+                return blob;
+            }
+
+            // The same content was stored concurrently; drop our copy and link to that one
+            deleteStoredMedia(asset.getId());
+            renditions.forEach(rendition -> deleteStoredMedia(rendition.getMediaId()));
+        }
+        throw new IllegalStateException("Could not register media blob " + sha256);
+    }
+
+    /**
+     * Write the staged file to GridFS and local storage in one pass
+     */
+    private void storeOriginal(MediaAsset asset, Path staged, String sha256) throws IOException {
+        ObjectId fileId = new ObjectId(asset.getId());
+        if (gridFSBucket.find(new org.bson.Document("_id", fileId)).first() != null) {
+            // Left over from a run interrupted by a restart
+            gridFSBucket.delete(fileId);
+        }
+
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new org.bson.Document("type", asset.getType())
+                        .append("contentType", asset.getContentType()));
+        Files.createDirectories(localStorageDir);
+        Path filePath = resolveStored(asset.getId());
+        logger.fine("Saving file to: " + filePath);
+
+        MediaUploadSink.Result result;
+        try (FileChannel source = FileChannel.open(staged, StandardOpenOption.READ)) {
+            result = mediaUploadSink.write(source, filePath,
+                    gridFSBucket.openUploadStream(new BsonObjectId(fileId), asset.getFilename(), options));
+        }
+        if (!result.getSha256().equals(sha256)) {
+            deleteStoredMedia(asset.getId());
+            throw new IOException("Staged media changed while it was being stored");
+        }
+    }
+
+    /**
+     * Store downscaled copies beside the original. Failures only cost the renditions,
+     * the original is still served.
+     */
+    private List<MediaRendition> createRenditions(MediaAsset asset, Path staged) {
+        if (!"image".equals(asset.getType()) || !imageRenditionService.supports(asset.getContentType())) {
+            return new ArrayList<>();
+        }
+
+        List<MediaRendition> renditions = new ArrayList<>();
+        try {
+            for (ImageRenditionService.EncodedImage image : imageRenditionService.generate(staged)) {
+                ObjectId renditionId = new ObjectId();
+                GridFSUploadOptions options = new GridFSUploadOptions()
+                        .metadata(new org.bson.Document("type", "rendition")
+                                .append("contentType", image.getContentType())
+                                .append("parentId", asset.getId())
+                                .append("width", image.getWidth()));
+                gridFSBucket.uploadFromStream(new BsonObjectId(renditionId),
+                        asset.getFilename() + "_w" + image.getWidth(), new ByteArrayInputStream(image.getData()), options);
+                Files.write(resolveStored(renditionId.toHexString()), image.getData());
+
+                renditions.add(new MediaRendition(renditionId.toHexString(), image.getWidth(), image.getHeight(),
+                        image.getContentType(), image.getData().length));
+            }
+            return renditions;
+        } catch (Exception e) {
+            logger.warning("Failed to create renditions for " + asset.getId() + ": " + e.getMessage());
+            renditions.forEach(rendition -> deleteStoredMedia(rendition.getMediaId()));
+            return new ArrayList<>();
+        }
+    }
+
+    private void markFailed(MediaAsset asset, String error) {
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(asset.getId())),
+                    new Update().set("status", MediaAsset.FAILED).set("error", error).set("processedAt", new Date()),
+                    MediaAsset.class);
+        } catch (Exception e) {
+            logger.warning("Failed to record media failure for " + asset.getId() + ": " + e.getMessage());
+        }
+    }
+
+}
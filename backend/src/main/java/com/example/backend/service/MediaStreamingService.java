@@ -0,0 +1,379 @@
+package com.example.backend.service;
+
+import com.example.backend.model.MediaRendition;
+import com.example.backend.model.Post;
+import com.example.backend.repository.PostRepository;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Streams media straight from local storage or GridFS to the response with
+ * HTTP Range support. Memory use per request is one buffer, independent of file size.
+ * Small GridFS files are kept in the off-heap {@link MediaCacheService} once read.
+ */
+@Service
+public class MediaStreamingService {
+    private static final Logger logger = Logger.getLogger(MediaStreamingService.class.getName());
+
+    // Tomcat hands these off to the connector, which uses sendfile(2) for the body
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final GridFSBucket gridFSBucket;
+    private final PostRepository postRepository;
+    private final MediaProcessingService mediaProcessingService;
+    private final MediaCacheService mediaCacheService;
+
+    @Autowired
+    public MediaStreamingService(GridFSBucket gridFSBucket, PostRepository postRepository,
+            MediaProcessingService mediaProcessingService, MediaCacheService mediaCacheService) {
+        this.gridFSBucket = gridFSBucket;
+        this.postRepository = postRepository;
+        this.mediaProcessingService = mediaProcessingService;
+        this.mediaCacheService = mediaCacheService;
+    }
+
+    /**
+     * Write the requested media (or the requested byte range of it) to the response.
+     * Media ids are never reused, so finished media is sent as immutable with a strong
+     * ETag, and a matching If-None-Match is answered with 304 before any lookup.
+     * @param width preferred display width; the smallest rendition at least this wide is
+     *              served when one exists, otherwise the original. Null for the original.
+     * @return false if no media exists with the given ID
+     * @throws IllegalArgumentException if the ID is not a valid media ID
+     */
+    public boolean streamMedia(String mediaId, Integer width, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        String etag = etagFor(mediaId, width);
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            return true;
+        }
+
+        if (width != null && width > 0) {
+            MediaRendition rendition = mediaProcessingService.findRendition(mediaId, width);
+            if (rendition != null) {
+                return streamFile(rendition.getMediaId(), rendition.getContentType(), etag, request, response);
+            }
+        }
+        if (streamFile(mediaId, null, etag, request, response)) {
+            return true;
+        }
+
+        // Deduplicated uploads are stored once under the id of the first copy
+        String blobId = mediaProcessingService.findBlobId(mediaId);
+        return blobId != null && !blobId.equals(mediaId) && streamFile(blobId, null, etag, request, response);
+    }
+
+    private boolean streamFile(String mediaId, String knownContentType, String etag,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaCacheService.CachedMedia cached = mediaCacheService.get(mediaId);
+        if (cached != null) {
+            try {
+                writeCached(cached, etag, request, response);
+            } finally {
+                cached.release();
+            }
+            return true;
+        }
+
+        // Check if file exists in local storage first, then in the staging area for media still processing.
+        // Staged media is served uncached: its renditions do not exist yet, so ?w= responses will change.
+        Path localFilePath = mediaProcessingService.resolveStored(mediaId);
+        if (!Files.exists(localFilePath)) {
+            localFilePath = mediaProcessingService.resolveStaged(mediaId);
+            if (Files.exists(localFilePath)) {
+                etag = null;
+            }
+        }
+        if (Files.exists(localFilePath)) {
+            logger.info("Found media in local storage: " + localFilePath);
+            long length = Files.size(localFilePath);
+            String contentType = knownContentType != null
+                    ? knownContentType
+                    : findLocalContentType(mediaId, localFilePath);
+
+            long[] range = writeHeaders(request, response, contentType, length, etag);
+            if (range != null && !isHeadRequest(request)) {
+                writeLocalFile(localFilePath, range[0], range[1], request, response);
+            }
+            return true;
+        }
+
+        // If not in local storage, fallback to GridFS
+        if (!ObjectId.isValid(mediaId)) {
+            throw new IllegalArgumentException("Invalid media ID format: " + mediaId);
+        }
+
+        ObjectId objectId = new ObjectId(mediaId);
+        GridFSFile file = gridFSBucket.find(new org.bson.Document("_id", objectId)).first();
+        if (file == null) {
+            return false;
+        }
+
+        String contentType = determineContentType(file.getFilename(), file.getMetadata());
+        if (mediaCacheService.admits(file.getLength())) {
+            cached = mediaCacheService.getOrLoad(mediaId, contentType, file.getLength(),
+                    () -> gridFSBucket.openDownloadStream(file.getObjectId()));
+            if (cached != null) {
+                try {
+                    writeCached(cached, etag, request, response);
+                } finally {
+                    cached.release();
+                }
+                return true;
+            }
+        }
+
+        long[] range = writeHeaders(request, response, contentType, file.getLength(), etag);
+        if (range != null && !isHeadRequest(request)) {
+            writeGridFSFile(file, range[0], range[1], response);
+        }
+        return true;
+    }
+
+    /**
+     * Strong validator for one media id at one requested width
+     */
+    private String etagFor(String mediaId, Integer width) {
+        return "\"" + mediaId + (width != null && width > 0 ? "-w" + width : "") + "\"";
+    }
+
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // If-None-Match uses weak comparison
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Set status and headers for a full or partial response. A Range header that does not
+     * parse is ignored and the full entity sent, as RFC 9110 requires; 416 is only for a
+     * well-formed range that starts beyond the end.
+     * @param etag validator for immutable media, or null to send the response uncached
+     * @return {start, count} of the bytes to send, or null if the range was unsatisfiable
+     */
+    long[] writeHeaders(HttpServletRequest request, HttpServletResponse response,
+            String contentType, long length, String etag) {
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<HttpRange> ranges = null;
+        if (rangeHeader != null && length > 0) {
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                logger.fine("Ignoring invalid Range header: " + rangeHeader);
+            }
+        }
+        // Multi-range requests are answered with the full entity, which RFC 9110 allows
+        if (ranges != null && ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                // First position at or beyond the end
+                start = length;
+            }
+            if (start >= length || end < start) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return null;
+            }
+            partial = true;
+        }
+
+        long count = Math.max(end - start + 1, 0);
+        response.setStatus(partial ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK);
+        response.setContentType(contentType);
+        response.setContentLengthLong(count);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        } else {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        if (partial) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        return new long[] { start, count };
+    }
+
+    private void writeCached(MediaCacheService.CachedMedia cached, String etag, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        long[] range = writeHeaders(request, response, cached.getContentType(), cached.getLength(), etag);
+        if (range == null || isHeadRequest(request) || range[1] == 0) {
+            return;
+        }
+
+        ByteBuffer slice = cached.getData().duplicate();
+        slice.position((int) range[0]);
+        slice.limit((int) (range[0] + range[1]));
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (slice.hasRemaining()) {
+            out.write(slice);
+        }
+    }
+
+    private void writeLocalFile(Path path, long start, long count, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private void writeGridFSFile(GridFSFile file, long start, long count, HttpServletResponse response)
+            throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        try (GridFSDownloadStream downloadStream = gridFSBucket.openDownloadStream(file.getObjectId())) {
+            // skip() jumps straight to the chunk containing the start offset
+            long skipped = 0;
+            while (skipped < start) {
+                long n = downloadStream.skip(start - skipped);
+                if (n <= 0) {
+                    break;
+                }
+                skipped += n;
+            }
+
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[file.getChunkSize()];
+            long remaining = count;
+            while (remaining > 0) {
+                int bytesRead = downloadStream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (bytesRead == -1) {
+                    break;
+                }
+                out.write(buffer, 0, bytesRead);
+                remaining -= bytesRead;
+            }
+        }
+    }
+
+    private boolean isHeadRequest(HttpServletRequest request) {
+        return "HEAD".equalsIgnoreCase(request.getMethod());
+    }
+
+    private String findLocalContentType(String mediaId, Path localFilePath) {
+        // Look for content type in post metadata if available
+        try {
+            List<Post> posts = postRepository.findByMediaIdsContaining(mediaId);
+            if (!posts.isEmpty() && posts.get(0).getMediaTypes() != null) {
+                String contentType = posts.get(0).getMediaTypes().get(mediaId);
+                if (contentType != null) {
+                    return contentType;
+                }
+            }
+        } catch (Exception e) {
+            logger.warning("Error retrieving media type from post: " + e.getMessage());
+        }
+        return determineContentType(localFilePath.getFileName().toString(), null);
+    }
+
+    private String determineContentType(String filename, org.bson.Document metadata) {
+        // Try to get from metadata first
+        if (metadata != null && metadata.containsKey("contentType")) {
+            return metadata.getString("contentType");
+        }
+
+        if (metadata != null && metadata.getString("type") != null) {
+            switch (metadata.getString("type")) {
+                case "image":
+                    return "image/jpeg";
+                case "video":
+                    return "video/mp4";
+            }
+        }
+
+        // Fallback to filename extension
+        if (filename != null) {
+            filename = filename.toLowerCase();
+            if (filename.endsWith(".jpg") || filename.endsWith(".jpeg")) {
+                return "image/jpeg";
+            }
+            if (filename.endsWith(".png")) {
+                return "image/png";
+            }
+            if (filename.endsWith(".mp4")) {
+                return "video/mp4";
+            }
+            if (filename.endsWith(".mov")) {
+                return "video/quicktime";
+            }
+            if (filename.endsWith(".gif")) {
+                return "image/gif";
+            }
+            if (filename.endsWith(".webp")) {
+                return "image/webp";
+            }
+        }
+
+        // Default fallback
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.backend.service;
+
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies one upload to GridFS and/or a local file in a single pass, computing its
+ * size and SHA-256 on the way. Reads go through a pooled direct buffer, so heap use
+ * per upload is constant regardless of the file size.
+ */
+@Service
+public class MediaUploadSink {
+
+    // GridFSUploadStream only accepts byte arrays; slices of the direct buffer are copied through this
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> bufferPool;
+    private final AtomicLong poolMisses = new AtomicLong();
+
+    public MediaUploadSink(
+            @Value("${media.upload.buffer-size:262144}") int bufferSize,
+            @Value("${media.upload.buffer-pool-size:16}") int poolSize) {
+        this.bufferSize = bufferSize;
+        this.bufferPool = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            bufferPool.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+    }
+
+    public static class Result {
+        private final long size;
+        private final String sha256;
+
+        Result(long size, String sha256) {
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+
+    /**
+     * Copy the source to every given target. On success the GridFS stream is closed;
+     * on failure it is aborted and the partial local file removed.
+     * @param localTarget file to create or overwrite, or null
+     * @param gridFsTarget open GridFS upload stream, or null
+     */
+    public Result write(ReadableByteChannel source, Path localTarget, GridFSUploadStream gridFsTarget)
+            throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        MessageDigest digest = MediaBlobService.newSha256();
+        long size = 0;
+        try (FileChannel out = localTarget != null
+                ? FileChannel.open(localTarget, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)
+                : null) {
+            byte[] scratch = SCRATCH.get();
+            boolean eof = false;
+            while (!eof) {
+                // Fill the buffer so each target sees large writes
+                while (buffer.hasRemaining()) {
+                    if (source.read(buffer) < 0) {
+                        eof = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer.duplicate());
+
+                if (out != null) {
+                    ByteBuffer view = buffer.duplicate();
+                    while (view.hasRemaining()) {
+                        out.write(view);
+                    }
+                }
+                if (gridFsTarget != null) {
+                    ByteBuffer view = buffer.duplicate();
+                    while (view.hasRemaining()) {
+                        int length = Math.min(scratch.length, view.remaining());
+                        view.get(scratch, 0, length);
+                        gridFsTarget.write(scratch, 0, length);
+                    }
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (gridFsTarget != null) {
+                gridFsTarget.abort();
+            }
+            if (localTarget != null) {
+                Files.deleteIfExists(localTarget);
+            }
+            throw e;
+        } finally {
+            releaseBuffer(buffer);
+        }
+
+        if (gridFsTarget != null) {
+            gridFsTarget.close();
+        }
+        return new Result(size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public long getPoolMisses() {
+        return poolMisses.get();
+    }
+
+    private ByteBuffer acquireBuffer() {
+        try {
+            ByteBuffer buffer = bufferPool.poll(100, TimeUnit.MILLISECONDS);
+            if (buffer != null) {
+                return buffer;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Pool exhausted: fall back to a short-lived heap buffer rather than growing off-heap memory
+        poolMisses.incrementAndGet();
+        return ByteBuffer.allocate(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.isDirect()) {
+            buffer.clear();
+            bufferPool.offer(buffer);
+        }
+    }
+}
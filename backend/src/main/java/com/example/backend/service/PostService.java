@@ -1,58 +1,96 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.CursorPage;
+import com.example.backend.dto.FeedCursor;
+import com.example.backend.dto.UserSummary;
 import com.example.backend.model.CommentResponse;
+import com.example.backend.model.MediaAsset;
 import com.example.backend.model.Post;
 import com.example.backend.model.PostResponse;
+import com.example.backend.model.UploadSession;
 import com.example.backend.model.User;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.UserRepository;
-import com.mongodb.client.gridfs.GridFSBucket;
-import com.mongodb.client.gridfs.GridFSBuckets;
-import com.mongodb.client.gridfs.model.GridFSUploadOptions;
-import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
+    private static final Logger logger = Logger.getLogger(PostService.class.getName());
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final MongoTemplate mongoTemplate;
-    private final GridFSBucket gridFSBucket;
+    private final AuthorEnrichmentService authorEnrichmentService;
+    private final TimelineService timelineService;
+    private final MediaProcessingService mediaProcessingService;
+    private final UploadSessionService uploadSessionService;
+    private final ContentVersionService contentVersionService;
+    private final ThreadPoolTaskExecutor postDetailExecutor;
     private CommentService commentService; // Optional dependency
     private ReactionService reactionService; // Optional dependency
 
     private static final int MAX_VIDEO_SIZE_MB = 15; // 15MB
     private static final List<String> ALLOWED_VIDEO_TYPES = List.of("video/mp4", "video/quicktime");
     private static final int MAX_VIDEO_DURATION_SECONDS = 30;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String INCLUDE_PREVIEW = "preview";
+    private static final String INCLUDE_VIEWER = "viewer";
 
     @Value("${upload.directory}")
     private String uploadDirectory;
 
+    @Value("${posts.detail.timeout-ms:2000}")
+    private long detailTimeoutMs;
+
     @Autowired
     public PostService(
             PostRepository postRepository,
             UserRepository userRepository,
-            MongoTemplate mongoTemplate) {
+            MongoTemplate mongoTemplate,
+            AuthorEnrichmentService authorEnrichmentService,
+            TimelineService timelineService,
+            MediaProcessingService mediaProcessingService,
+            UploadSessionService uploadSessionService,
+            ContentVersionService contentVersionService,
+            @Qualifier("postDetailExecutor") ThreadPoolTaskExecutor postDetailExecutor) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.mongoTemplate = mongoTemplate;
-        this.gridFSBucket = GridFSBuckets.create(mongoTemplate.getDb(), "media");
+        this.authorEnrichmentService = authorEnrichmentService;
+        this.timelineService = timelineService;
+        this.mediaProcessingService = mediaProcessingService;
+        this.uploadSessionService = uploadSessionService;
+        this.contentVersionService = contentVersionService;
+        this.postDetailExecutor = postDetailExecutor;
     }
 
     // Optional constructor for when you have CommentService and ReactionService available
@@ -68,6 +106,29 @@ public class PostService {
     }
 
     public PostResponse convertToPostResponse(Post post) {
+        return convertToPostResponses(Collections.singletonList(post)).get(0);
+    }
+
+    /**
+     * Convert a page of posts, resolving all post and comment preview authors with a single batched lookup
+     */
+    public List<PostResponse> convertToPostResponses(List<Post> posts) {
+        Set<String> authorIds = new HashSet<>();
+        for (Post post : posts) {
+            authorIds.add(post.getUserId());
+            if (post.getCommentPreview() != null) {
+                post.getCommentPreview().forEach(preview -> authorIds.add(preview.getUserId()));
+            }
+        }
+        Map<String, UserSummary> authors = authorEnrichmentService.loadAuthors(authorIds);
+
+        return posts.stream()
+                .map(post -> convertToPostResponse(post, authors))
+                .collect(Collectors.toList());
+    }
+
+    private PostResponse convertToPostResponse(Post post, Map<String, UserSummary> authors) {
+        UserSummary author = authors.get(post.getUserId());
         PostResponse response = new PostResponse();
         response.setId(post.getId());
         response.setContent(post.getContent());
@@ -76,23 +137,28 @@ public class PostService {
         response.setMediaIds(post.getMediaIds());
         response.setMediaTypes(post.getMediaTypes());
         response.setLikes(post.getLikes());
-        response.setComments(post.getComments());
+        response.setCommentCount(post.getCommentCount());
+        if (post.getCommentPreview() != null) {
+            response.setCommentPreview(post.getCommentPreview().stream()
+                    .map(preview -> {
+                        CommentResponse comment = new CommentResponse(post.getId(), preview);
+                        UserSummary commenter = authors.get(preview.getUserId());
+                        if (commenter != null) {
+                            comment.setUserName(commenter.getDisplayName());
+                            comment.setUserProfilePicture(commenter.getProfilePicture());
+                        }
+                        return comment;
+                    })
+                    .collect(Collectors.toList()));
+        }
         response.setCreatedAt(post.getCreatedAt());
         response.setUserId(post.getUserId());
 
         // Handle potentially deleted users gracefully
-        try {
-            userRepository.findById(post.getUserId()).ifPresentOrElse(
-                    user -> {
-                        response.setUserName(user.getFirstName() + " " + user.getLastName());
-                        response.setUserProfilePicture(user.getProfilePicture());
-                    },
-                    () -> {
-                        response.setUserName("Deleted User");
-                        response.setUserProfilePicture(null);
-                    });
-        } catch (Exception e) {
-            System.err.println("Error fetching user for post " + post.getId() + ": " + e.getMessage());
+        if (author != null) {
+            response.setUserName(author.getDisplayName());
+            response.setUserProfilePicture(author.getProfilePicture());
+        } else {
             response.setUserName("Deleted User");
             response.setUserProfilePicture(null);
         }
@@ -100,8 +166,14 @@ public class PostService {
         return response;
     }
 
-    public PostResponse createPost(String userId, String content, List<MultipartFile> images, MultipartFile video) {
-        if ((video == null && (images == null || images.isEmpty())) && content.isEmpty()) {
+    /**
+     * Create a post. A video may be sent inline or, for large files, as the id of a
+     * committed chunked upload session.
+     */
+    public PostResponse createPost(String userId, String content, List<MultipartFile> images, MultipartFile video,
+            String videoUploadId) {
+        boolean hasUploadedVideo = videoUploadId != null && !videoUploadId.isEmpty();
+        if ((video == null && !hasUploadedVideo && (images == null || images.isEmpty())) && content.isEmpty()) {
             throw new IllegalArgumentException("Post must have content, images, or a video");
         }
 
@@ -110,41 +182,45 @@ public class PostService {
         post.setContent(content);
         post.setCreatedAt(LocalDateTime.now());
         post.setLikes(0);
-        post.setComments(new ArrayList<>());
         List<String> mediaIds = new ArrayList<>();
 
-        try {
-            // Ensure upload directory exists - use direct path to backenduploads
-            Path uploadsPath = Paths.get("backend", "uploads");
-            if (!Files.exists(uploadsPath)) {
-                Files.createDirectories(uploadsPath);
-                System.out.println("Created uploads directory at: " + uploadsPath.toAbsolutePath());
+        if (video != null && !video.isEmpty()) {
+            validateVideo(video);
+        } else if (hasUploadedVideo) {
+            UploadSession upload = uploadSessionService.getCommittedSession(videoUploadId, userId);
+            if (!ALLOWED_VIDEO_TYPES.contains(upload.getContentType())) {
+                throw new IllegalArgumentException(
+                        "Invalid video format. Allowed formats: " + String.join(", ", ALLOWED_VIDEO_TYPES));
             }
+        }
+        validateImages(images);
 
+        // Media is only staged here; GridFS and local storage writes happen on the media executor
+        List<MediaAsset> stagedMedia = new ArrayList<>();
+        try {
             // Handle video upload
             if (video != null && !video.isEmpty()) {
-                validateVideo(video);
-                String videoId = saveMedia(video, "video");
-                mediaIds.add(videoId);
-                post.setVideoUrl("/api/media/" + videoId); // URL for retrieval
-                post.addMediaType(videoId, "video/" + video.getContentType().split("/")[1]); // Store content type
-
-                // Save to local storage
-                saveToLocalStorage(video, videoId);
+                String contentType = "video/" + video.getContentType().split("/")[1];
+                MediaAsset asset = mediaProcessingService.stage(userId, video, "video", contentType);
+                stagedMedia.add(asset);
+                mediaIds.add(asset.getId());
+                post.setVideoUrl("/api/media/" + asset.getId()); // URL for retrieval
+                post.addMediaType(asset.getId(), contentType); // Store content type
+            } else if (hasUploadedVideo) {
+                MediaAsset asset = uploadSessionService.consume(videoUploadId, userId, "video");
+                stagedMedia.add(asset);
+                mediaIds.add(asset.getId());
+                post.setVideoUrl("/api/media/" + asset.getId());
+                post.addMediaType(asset.getId(), asset.getContentType());
             }
 
             // Handle image uploads
             if (images != null && !images.isEmpty()) {
                 for (MultipartFile image : images) {
-                    if (!image.getContentType().startsWith("image/")) {
-                        throw new IllegalArgumentException("Only image files are supported");
-                    }
-                    String imageId = saveMedia(image, "image");
-                    mediaIds.add(imageId);
-                    post.addMediaType(imageId, image.getContentType()); // Store content type
-
-                    // Save to local storage
-                    saveToLocalStorage(image, imageId);
+                    MediaAsset asset = mediaProcessingService.stage(userId, image, "image", image.getContentType());
+                    stagedMedia.add(asset);
+                    mediaIds.add(asset.getId());
+                    post.addMediaType(asset.getId(), image.getContentType()); // Store content type
                 }
                 post.setImageUrls(mediaIds.stream()
                         .map(id -> "/api/media/" + id)
@@ -153,22 +229,29 @@ public class PostService {
 
             post.setMediaIds(mediaIds); // Store GridFS IDs
             Post savedPost = postRepository.save(post);
-            return convertToPostResponse(savedPost);
+            mediaProcessingService.submit(savedPost.getId(), stagedMedia);
+            timelineService.fanOut(savedPost);
+            contentVersionService.postCreated();
+
+            PostResponse response = convertToPostResponse(savedPost);
+            if (!stagedMedia.isEmpty()) {
+                response.setMediaState(MediaAsset.PROCESSING);
+            }
+            return response;
         } catch (IOException e) {
+            mediaProcessingService.discardStaged(stagedMedia);
             throw new RuntimeException("Failed to save media: " + e.getMessage());
         }
     }
 
-    private void saveToLocalStorage(MultipartFile file, String mediaId) throws IOException {
-        // Use direct absolute path to D:\Learn_Book\backend uploads folder
-        Path uploadsPath = Paths.get("D:", "Learn_Book", "backend", "uploads");
-        Files.createDirectories(uploadsPath); // Ensure directory exists
-
-        Path filePath = uploadsPath.resolve(mediaId);
-        System.out.println("Saving file to: " + filePath);
-
-        try (FileOutputStream fos = new FileOutputStream(filePath.toFile())) {
-            fos.write(file.getBytes());
+    private void validateImages(List<MultipartFile> images) {
+        if (images == null) {
+            return;
+        }
+        for (MultipartFile image : images) {
+            if (image.getContentType() == null || !image.getContentType().startsWith("image/")) {
+                throw new IllegalArgumentException("Only image files are supported");
+            }
         }
     }
 
@@ -185,33 +268,73 @@ public class PostService {
         // If needed, reintroduce JAVE or use FFmpeg CLI via ProcessBuilder.
     }
 
-    private String saveMedia(MultipartFile file, String type) throws IOException {
-        GridFSUploadOptions options = new GridFSUploadOptions()
-                .metadata(new org.bson.Document("type", type));
-        ObjectId fileId = gridFSBucket.uploadFromStream(
-                file.getOriginalFilename() != null ? file.getOriginalFilename() : "media_" + type,
-                file.getInputStream(),
-                options);
-        return fileId.toHexString();
+    /**
+     * Get one page of the global feed, newest first
+     * @param cursor opaque cursor from a previous page, or null for the first page
+     * @param limit requested page size, clamped to MAX_PAGE_SIZE
+     */
+    public CursorPage<PostResponse> getFeedPage(String cursor, Integer limit) {
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = feedPageable(pageSize);
+
+        List<Post> posts;
+        if (cursor == null || cursor.isEmpty()) {
+            posts = postRepository.findFeedPage(pageable);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            posts = postRepository.findFeedPageBefore(position.getCreatedAt(), position.getId(), pageable);
+        }
+        return toCursorPage(posts, pageSize);
     }
 
-    public List<PostResponse> getAllPosts() {
-        try {
-            List<Post> posts = postRepository.findAllByOrderByCreatedAtDesc();
-            return posts.stream()
-                    .map(this::convertToPostResponse)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            System.err.println("Error fetching all posts: " + e.getMessage());
-            return Collections.emptyList();
+    /**
+     * Get one page of a single user's posts, newest first
+     */
+    public CursorPage<PostResponse> getUserPostsPage(String userId, String cursor, Integer limit) {
+        int pageSize = normalizePageSize(limit);
+        Pageable pageable = feedPageable(pageSize);
+
+        List<Post> posts;
+        if (cursor == null || cursor.isEmpty()) {
+            posts = postRepository.findUserFeedPage(userId, pageable);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            posts = postRepository.findUserFeedPageBefore(userId, position.getCreatedAt(), position.getId(),
+                    pageable);
         }
+        return toCursorPage(posts, pageSize);
     }
 
-    public List<PostResponse> getUserPosts(String userId) {
-        List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return posts.stream()
-                .map(this::convertToPostResponse)
-                .collect(Collectors.toList());
+    /**
+     * Get one page of the user's home timeline (own posts and posts of followed users)
+     */
+    public CursorPage<PostResponse> getHomeFeedPage(String userId, String cursor, Integer limit) {
+        int pageSize = normalizePageSize(limit);
+        FeedCursor position = (cursor == null || cursor.isEmpty()) ? null : FeedCursor.decode(cursor);
+        List<Post> posts = timelineService.getTimelinePosts(userId, position, pageSize + 1);
+        return toCursorPage(posts, pageSize);
+    }
+
+    private int normalizePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Fetch one extra row so we know whether a next page exists without a count query
+    private Pageable feedPageable(int pageSize) {
+        return PageRequest.of(0, pageSize + 1, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+    }
+
+    private CursorPage<PostResponse> toCursorPage(List<Post> posts, int pageSize) {
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            Post last = posts.get(pageSize - 1);
+            nextCursor = FeedCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(convertToPostResponses(posts), nextCursor);
     }
 
     public void deletePost(String postId, String userId, boolean isAdmin) {
@@ -225,26 +348,13 @@ public class PostService {
 
         // Delete associated media from GridFS and local storage
         if (post.getMediaIds() != null) {
-            for (String mediaId : post.getMediaIds()) {
-                try {
-                    // Delete from GridFS
-                    gridFSBucket.delete(new ObjectId(mediaId));
-
-                    // Delete from local storage - use absolute path
-                    Path mediaPath = Paths.get("D:", "Learn_Book", "backend", "uploads", mediaId);
-                    if (Files.exists(mediaPath)) {
-                        Files.delete(mediaPath);
-                        System.out.println("Deleted file: " + mediaPath);
-                    }
-                } catch (Exception e) {
-                    // Log error but continue with post deletion
-                    System.err.println("Error deleting media: " + e.getMessage());
-                }
-            }
+            mediaProcessingService.deleteMedia(post.getMediaIds());
         }
 
         // Delete post from database
         postRepository.deleteById(postId);
+        timelineService.removePost(postId);
+        contentVersionService.postChanged(postId);
     }
 
     public PostResponse updatePost(String postId, String userId, String content, List<MultipartFile> images) {
@@ -258,38 +368,22 @@ public class PostService {
         post.setContent(content);
         List<String> mediaIds = new ArrayList<>(post.getMediaIds() != null ? post.getMediaIds() : new ArrayList<>());
 
+        validateImages(images);
+        List<MediaAsset> stagedMedia = new ArrayList<>();
         try {
             if (images != null && !images.isEmpty()) {
                 // Delete old media
                 if (!mediaIds.isEmpty()) {
-                    for (String mediaId : mediaIds) {
-                        try {
-                            // Delete from GridFS
-                            gridFSBucket.delete(new ObjectId(mediaId));
-
-                            // Delete from local storage - use absolute path
-                            Path mediaPath = Paths.get("D:", "Learn_Book", "backend", "uploads", mediaId);
-                            if (Files.exists(mediaPath)) {
-                                Files.delete(mediaPath);
-                                System.out.println("Deleted file during update: " + mediaPath);
-                            }
-                        } catch (Exception e) {
-                            System.err.println("Failed to delete old media: " + mediaId + " - " + e.getMessage());
-                        }
-                    }
+                    mediaProcessingService.deleteMedia(mediaIds);
                     mediaIds.clear();
                 }
 
-                // Save new images
+                // Stage new images for background processing
                 for (MultipartFile image : images) {
-                    if (!image.getContentType().startsWith("image/")) {
-                        throw new IllegalArgumentException("Only image files are supported");
-                    }
-                    String imageId = saveMedia(image, "image");
-                    mediaIds.add(imageId);
-
-                    // Save to local storage
-                    saveToLocalStorage(image, imageId);
+                    MediaAsset asset = mediaProcessingService.stage(userId, image, "image", image.getContentType());
+                    stagedMedia.add(asset);
+                    mediaIds.add(asset.getId());
+                    post.addMediaType(asset.getId(), image.getContentType());
                 }
                 post.setImageUrls(mediaIds.stream()
                         .map(id -> "/api/media/" + id)
@@ -297,75 +391,105 @@ public class PostService {
             }
 
             post.setMediaIds(mediaIds);
-            Post updatedPost = postRepository.save(post);
-            return convertToPostResponse(updatedPost);
+            // Only touch the edited fields; counters and the preview are maintained by $inc/$push elsewhere
+            Update update = new Update()
+                    .set("content", post.getContent())
+                    .set("mediaIds", post.getMediaIds())
+                    .set("imageUrls", post.getImageUrls())
+                    .set("mediaTypes", post.getMediaTypes())
+                    .inc("version", 1)
+                    .set("changedAt", LocalDateTime.now());
+            Post updatedPost = mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(postId)), update,
+                    FindAndModifyOptions.options().returnNew(true), Post.class);
+            if (updatedPost == null) {
+                mediaProcessingService.discardStaged(stagedMedia);
+                throw new IllegalArgumentException("Post not found");
+            }
+            contentVersionService.postChanged(postId);
+            mediaProcessingService.submit(updatedPost.getId(), stagedMedia);
+
+            PostResponse response = convertToPostResponse(updatedPost);
+            if (!stagedMedia.isEmpty()) {
+                response.setMediaState(MediaAsset.PROCESSING);
+            }
+            return response;
         } catch (IOException e) {
+            mediaProcessingService.discardStaged(stagedMedia);
             throw new RuntimeException("Failed to update media: " + e.getMessage());
         }
     }
 
     /**
-     * Get a post by its ID
+     * Get a post by its ID with the default parts
      * @param postId The ID of the post to retrieve
      * @return PostResponse containing post details
      */
     public PostResponse getPostById(String postId) {
-        // Find the post by ID
+        return getPostById(postId, null, null);
+    }
+
+    /**
+     * Assemble a single post. Counts and the comment preview come from the post document;
+     * parts needing other collections are only loaded when listed in include, run
+     * concurrently with the post lookup, and are left out if they miss the deadline.
+     * @param include comma-separated parts: "preview" (default) and/or "viewer"
+     * @param viewerId user whose reaction state "viewer" reports
+     * @throws IllegalArgumentException if the post does not exist or a part is unknown
+     */
+    public PostResponse getPostById(String postId, String include, String viewerId) {
+        Set<String> parts = parseInclude(include);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(detailTimeoutMs);
+
+        CompletableFuture<Boolean> viewerReacted = null;
+        if (parts.contains(INCLUDE_VIEWER) && viewerId != null && reactionService != null) {
+            viewerReacted = CompletableFuture.supplyAsync(
+                    () -> reactionService.hasUserReacted(viewerId, postId), postDetailExecutor);
+        }
+
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found with ID: " + postId));
-        
-        // Convert Post to PostResponse
+        if (!parts.contains(INCLUDE_PREVIEW)) {
+            // Also keeps the preview authors out of the author lookup
+            post.setCommentPreview(new ArrayList<>());
+        }
+
         PostResponse response = convertToPostResponse(post);
-        
-        // Try to enrich with additional data if services are available
-        enrichPostResponse(response);
-        
+        if (viewerReacted != null) {
+            response.setViewerReacted(await(viewerReacted, deadline, "viewer reaction for post " + postId));
+        }
         return response;
     }
 
+    private Set<String> parseInclude(String include) {
+        if (include == null || include.isBlank()) {
+            return Set.of(INCLUDE_PREVIEW);
+        }
+        Set<String> parts = new HashSet<>();
+        for (String part : include.split(",")) {
+            String name = part.trim().toLowerCase();
+            if (!name.equals(INCLUDE_PREVIEW) && !name.equals(INCLUDE_VIEWER)) {
+                throw new IllegalArgumentException("Unknown include: " + part.trim());
+            }
+            parts.add(name);
+        }
+        return parts;
+    }
+
     /**
-     * Enrich PostResponse with additional data
+     * Wait for an optional part until the shared deadline
+     * @return the value, or null if it failed or timed out
      */
-    private void enrichPostResponse(PostResponse response) {
+    private <T> T await(CompletableFuture<T> future, long deadline, String description) {
         try {
-            // Add comments if commentService is available
-            if (commentService != null) {
-                try {
-                    List<CommentResponse> comments = commentService.getPostComments(response.getId(), 1000);
-                    
-                    // Simply store the comment count instead of trying to set the comments list
-                    // This avoids potential type casting errors or missing methods
-                    if (comments != null) {
-                        // Just update the likes count with the number of comments as a fallback
-                        System.out.println("Found " + comments.size() + " comments for post " + response.getId());
-                    }
-                    
-                    /* 
-                     * NOTE: We're avoiding attempting to set comments directly since the 
-                     * PostResponse.setComments() method might expect a different type than 
-                     * List<CommentResponse>. The frontend should call a separate API endpoint
-                     * to get comments when needed.
-                     */
-                } catch (Exception e) {
-                    System.err.println("Error fetching comments: " + e.getMessage());
-                    // Don't let comment errors fail the whole response
-                }
-            }
-            
-            // Add reaction count if reactionService is available
-            if (reactionService != null) {
-                try {
-                    long reactionCount = reactionService.getReactionCount(response.getId());
-                    // Use likes field as fallback if setReactionCount doesn't exist
-                    response.setLikes((int) reactionCount);
-                } catch (Exception e) {
-                    System.err.println("Error fetching reactions: " + e.getMessage());
-                    // Don't let reaction errors fail the whole response
-                }
-            }
-        } catch (Exception e) {
-            // Log error but don't fail the entire response
-            System.err.println("Error enriching post response: " + e.getMessage());
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warning("Timed out loading " + description);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warning("Error loading " + description + ": " + e.getCause().getMessage());
         }
+        return null;
     }
 }
\ No newline at end of file
@@ -1,62 +1,156 @@
 package com.example.backend.service;
 
+import com.example.backend.model.LiveEvent;
 import com.example.backend.model.Post;
 import com.example.backend.model.Reaction;
-import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.ReactionRepository;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
 
 @Service
 public class ReactionService {
+    private static final Logger logger = Logger.getLogger(ReactionService.class.getName());
+    private static final String USER_POST_INDEX = "user_post_unique";
 
     @Autowired
     private ReactionRepository reactionRepository;
 
     @Autowired
-    private PostRepository postRepository;
+    private MongoTemplate mongoTemplate;
 
-    public boolean toggleReaction(String userId, String postId) {
-        try {
-            Optional<Reaction> existingReaction = reactionRepository.findByUserIdAndPostId(userId, postId);
+    @Autowired
+    private ContentVersionService contentVersionService;
 
-            Post post = postRepository.findById(postId)
-                    .orElseThrow(() -> new RuntimeException("Post not found"));
+    @Autowired
+    private LiveUpdateService liveUpdateService;
 
-            if (existingReaction.isPresent()) {
-                reactionRepository.delete(existingReaction.get());
-                updatePostReactionCount(postId);
+    /**
+     * Like or unlike a post. The reaction document is inserted or deleted conditionally
+     * (backed by the unique userId/postId index) and the post's like counter is moved
+     * with $inc, so concurrent toggles never overwrite each other.
+     * @return true if the post is now liked by the user
+     */
+    public boolean toggleReaction(String userId, String postId) {
+        try {
+            DeleteResult removed = mongoTemplate.remove(reactionQuery(userId, postId), Reaction.class);
+            if (removed.getDeletedCount() > 0) {
+                incrementLikes(postId, -1);
                 return false;
             }
 
-            Reaction newReaction = new Reaction(userId, postId);
-            reactionRepository.save(newReaction);
-            updatePostReactionCount(postId);
+            try {
+                mongoTemplate.insert(new Reaction(userId, postId));
+            } catch (DuplicateKeyException e) {
+                // A concurrent request from the same user already liked the post
+                return true;
+            }
+
+            if (!incrementLikes(postId, 1)) {
+                mongoTemplate.remove(reactionQuery(userId, postId), Reaction.class);
+                throw new RuntimeException("Post not found");
+            }
             return true;
         } catch (Exception e) {
             throw new RuntimeException("Failed to toggle reaction: " + e.getMessage());
         }
     }
 
-    private void updatePostReactionCount(String postId) {
-        try {
-            Post post = postRepository.findById(postId)
-                    .orElseThrow(() -> new RuntimeException("Post not found"));
-            long likeCount = reactionRepository.countByPostId(postId);
-            post.setLikes((int) likeCount);
-            postRepository.save(post);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to update reaction count: " + e.getMessage());
+    private Query reactionQuery(String userId, String postId) {
+        return new Query(Criteria.where("userId").is(userId).and("postId").is(postId));
+    }
+
+    private boolean incrementLikes(String postId, int delta) {
+        Criteria criteria = Criteria.where("id").is(postId);
+        if (delta < 0) {
+            // Never let a drifted counter go negative
+            criteria = criteria.and("likes").gt(0);
         }
+        Query query = new Query(criteria);
+        query.fields().include("likes");
+        Update update = new Update()
+                .inc("likes", delta)
+                .inc("version", 1)
+                .set("changedAt", LocalDateTime.now());
+        Post post = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                Post.class);
+        if (post == null) {
+            return false;
+        }
+        contentVersionService.postChanged(postId);
+        liveUpdateService.publish(LiveEvent.reactionCount(postId, delta, post.getLikes()));
+        return true;
     }
 
+    /**
+     * Read the maintained like counter from the post instead of counting reactions
+     */
     public long getReactionCount(String postId) {
-        return reactionRepository.countByPostId(postId);
+        Query query = new Query(Criteria.where("id").is(postId));
+        query.fields().include("likes");
+        Post post = mongoTemplate.findOne(query, Post.class);
+        return post != null ? post.getLikes() : 0;
     }
 
     public boolean hasUserReacted(String userId, String postId) {
         return reactionRepository.findByUserIdAndPostId(userId, postId).isPresent();
     }
+
+    /**
+     * Remove duplicate reactions left by the old read-then-insert toggle, recount the likes
+     * of the affected posts, then create the unique userId/postId index toggling relies on.
+     * The index is created here rather than by auto-index-creation, which would fail at
+     * startup while duplicates exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateDuplicateReactions() {
+        Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.group("userId", "postId").push("_id").as("ids").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+        Set<String> postIds = new HashSet<>();
+        long removed = 0;
+        for (Document group : mongoTemplate.aggregate(duplicates, Reaction.class, Document.class)) {
+            List<Object> ids = group.getList("ids", Object.class);
+            // Keep one reaction per user and post
+            removed += mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids.subList(1, ids.size()))),
+                    Reaction.class).getDeletedCount();
+            postIds.add(group.get("_id", Document.class).getString("postId"));
+        }
+        for (String postId : postIds) {
+            long likes = mongoTemplate.count(Query.query(Criteria.where("postId").is(postId)), Reaction.class);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(postId)),
+                    new Update().set("likes", (int) likes).inc("version", 1).set("changedAt", LocalDateTime.now()),
+                    Post.class);
+            contentVersionService.postChanged(postId);
+        }
+        if (removed > 0) {
+            logger.info("Removed " + removed + " duplicate reactions and recounted likes of " + postIds.size()
+                    + " posts");
+        }
+
+        mongoTemplate.indexOps(Reaction.class).ensureIndex(new Index()
+                .on("userId", Sort.Direction.ASC)
+                .on("postId", Sort.Direction.ASC)
+                .unique()
+                .named(USER_POST_INDEX));
+    }
 }
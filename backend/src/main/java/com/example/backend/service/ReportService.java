@@ -1,8 +1,8 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.UserSummary;
 import com.example.backend.model.Post;
 import com.example.backend.model.Report;
-import com.example.backend.model.User;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.ReportRepository;
 import com.example.backend.repository.UserRepository;
@@ -14,7 +14,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,6 +30,15 @@ public class ReportService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserSummaryService userSummaryService;
+    
+    @Autowired
+    private StatsService statsService;
+    
+    @Autowired
+    private PostService postService;
+    
     /**
      * Create a new report
      */
@@ -42,20 +50,21 @@ public class ReportService {
         }
         
         // Check if reporter exists
-        Optional<User> userOpt = userRepository.findById(report.getReporterId());
-        if (!userOpt.isPresent()) {
+        UserSummary reporter = userSummaryService.getSummary(report.getReporterId());
+        if (reporter == null) {
             throw new IllegalArgumentException("User not found");
         }
         
         // Set reporter name
-        User reporter = userOpt.get();
-        report.setReporterName(reporter.getFirstName() + " " + reporter.getLastName());
+        report.setReporterName(reporter.getDisplayName());
         
         // Set default status and dates
         report.setStatus("PENDING");
         report.setCreatedAt(new Date());
         
-        return reportRepository.save(report);
+        Report savedReport = reportRepository.save(report);
+        statsService.recordReportCreated(savedReport.getStatus());
+        return savedReport;
     }
     
     /**
@@ -90,12 +99,15 @@ public class ReportService {
         }
         
         Report report = reportOpt.get();
+        String previousStatus = report.getStatus();
         report.setStatus(status);
         report.setUpdatedAt(new Date());
         report.setAdminId(adminId);
         report.setAdminNote(adminNote);
         
-        return reportRepository.save(report);
+        Report savedReport = reportRepository.save(report);
+        statsService.recordReportStatusChange(previousStatus, status);
+        return savedReport;
     }
     
     /**
@@ -109,35 +121,28 @@ public class ReportService {
         
         Report report = reportOpt.get();
         
-        // Delete the post
-        postRepository.deleteById(report.getPostId());
+        // Delete the post through the same path as an admin delete, so its media,
+        // timeline entries and cached versions are cleaned up too
+        if (postRepository.existsById(report.getPostId())) {
+            postService.deletePost(report.getPostId(), adminId, true);
+        }
         
         // Update the report status
+        String previousStatus = report.getStatus();
         report.setStatus("RESOLVED");
         report.setUpdatedAt(new Date());
         report.setAdminId(adminId);
         report.setAdminNote(adminNote);
         
         reportRepository.save(report);
+        statsService.recordReportStatusChange(previousStatus, "RESOLVED");
     }
     
     /**
-     * Get report statistics
+     * Get report statistics from the maintained counters, or a single cached aggregation
      */
     public Map<String, Object> getReportStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        long totalReports = reportRepository.count();
-        long pendingReports = reportRepository.countByStatus("PENDING");
-        long resolvedReports = reportRepository.countByStatus("RESOLVED");
-        long rejectedReports = reportRepository.countByStatus("REJECTED");
-        
-        stats.put("total", totalReports);
-        stats.put("pending", pendingReports);
-        stats.put("resolved", resolvedReports);
-        stats.put("rejected", rejectedReports);
-        
-        return stats;
+        return statsService.getReportStats();
     }
     
     /**
@@ -0,0 +1,58 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed key set for running without network access, e.g. tests signing their own
+ * ID tokens. Reads the same {"kid": "-----BEGIN CERTIFICATE-----..."} JSON format
+ * that Google serves at https://www.googleapis.com/oauth2/v1/certs.
+ */
+public class StaticGoogleKeySource implements GooglePublicKeySource {
+
+    private final Map<String, PublicKey> publicKeys;
+
+    public StaticGoogleKeySource(Map<String, PublicKey> publicKeys) {
+        this.publicKeys = Collections.unmodifiableMap(new LinkedHashMap<>(publicKeys));
+    }
+
+    public static StaticGoogleKeySource fromResource(Resource resource) throws IOException, GeneralSecurityException {
+        Map<String, String> certificates;
+        try (InputStream in = resource.getInputStream()) {
+            certificates = new ObjectMapper().readValue(in,
+                    new com.fasterxml.jackson.core.type.TypeReference<Map<String, String>>() {
+                    });
+        }
+
+        return new StaticGoogleKeySource(toPublicKeys(certificates));
+    }
+
+    /**
+     * Parse a certs JSON map of kid to PEM certificate into public keys by kid
+     */
+    static Map<String, PublicKey> toPublicKeys(Map<String, String> certificates) throws GeneralSecurityException {
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        for (Map.Entry<String, String> certificate : certificates.entrySet()) {
+            keys.put(certificate.getKey(), factory.generateCertificate(
+                    new ByteArrayInputStream(certificate.getValue().getBytes(StandardCharsets.UTF_8))).getPublicKey());
+        }
+        return keys;
+    }
+
+    @Override
+    public Map<String, PublicKey> getPublicKeys() {
+        return publicKeys;
+    }
+}
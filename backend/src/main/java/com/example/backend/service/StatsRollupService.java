@@ -0,0 +1,209 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Comment;
+import com.example.backend.model.Post;
+import com.example.backend.model.Reaction;
+import com.example.backend.model.Report;
+import com.example.backend.model.StatsRollup;
+import com.example.backend.model.User;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Maintains hourly and daily rollups of new users, posts, comments, reactions and reports.
+ * Each run recomputes only the hours since the last watermark (plus a small lookback for
+ * late writes and deletions) and re-derives the days those hours belong to, so a 90-day
+ * trend chart reads 90 small documents instead of scanning five collections.
+ * Buckets are UTC.
+ */
+@Service
+public class StatsRollupService {
+    private static final Logger logger = Logger.getLogger(StatsRollupService.class.getName());
+
+    private static final String JOBS_COLLECTION = "stats_jobs";
+    private static final String JOB_ID = "rollups";
+    private static final int MAX_POINTS = 5000;
+    private static final int WRITE_BATCH_SIZE = 500;
+
+    private static final Map<String, Class<?>> METRICS = new LinkedHashMap<>();
+    static {
+        METRICS.put("users", User.class);
+        METRICS.put("posts", Post.class);
+        METRICS.put("comments", Comment.class);
+        METRICS.put("reactions", Reaction.class);
+        METRICS.put("reports", Report.class);
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final int backfillDays;
+    private final int lookbackHours;
+
+    public StatsRollupService(
+            MongoTemplate mongoTemplate,
+            @Value("${stats.rollup.backfill-days:90}") int backfillDays,
+            @Value("${stats.rollup.lookback-hours:2}") int lookbackHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.backfillDays = backfillDays;
+        this.lookbackHours = lookbackHours;
+    }
+
+    /**
+     * Bring the rollups up to date. The first run backfills stats.rollup.backfill-days.
+     */
+    @Scheduled(fixedDelayString = "${stats.rollup.interval-ms:300000}", initialDelayString = "${stats.rollup.initial-delay-ms:30000}")
+    public void updateRollups() {
+        try {
+            Instant now = Instant.now();
+            Instant watermark = loadWatermark();
+            Instant from = watermark != null
+                    ? watermark.minus(Duration.ofHours(lookbackHours)).truncatedTo(ChronoUnit.HOURS)
+                    : now.minus(Duration.ofDays(backfillDays)).truncatedTo(ChronoUnit.DAYS);
+            Instant to = now.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
+
+            rollupHours(from, to);
+            rollupDays(from.truncatedTo(ChronoUnit.DAYS), to);
+            saveWatermark(now);
+        } catch (Exception e) {
+            logger.warning("Failed to update stats rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Counts per bucket in [from, to). Buckets with no activity are returned with zero counts.
+     * @param granularity "hour" or "day"
+     */
+    public List<Map<String, Object>> getTimeseries(Instant from, Instant to, String granularity) {
+        String bucketType = "hour".equalsIgnoreCase(granularity) ? StatsRollup.HOUR : StatsRollup.DAY;
+        ChronoUnit unit = StatsRollup.HOUR.equals(bucketType) ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        Instant start = from.truncatedTo(unit);
+        if (!start.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (unit.between(start, to) > MAX_POINTS) {
+            throw new IllegalArgumentException("Range too large, at most " + MAX_POINTS + " buckets are allowed");
+        }
+
+        Query query = new Query(Criteria.where("granularity").is(bucketType)
+                .and("bucketStart").gte(Date.from(start)).lt(Date.from(to)))
+                .with(Sort.by(Sort.Direction.ASC, "bucketStart"));
+        Map<Instant, Map<String, Long>> stored = new TreeMap<>();
+        for (StatsRollup rollup : mongoTemplate.find(query, StatsRollup.class)) {
+            stored.put(rollup.getBucketStart().toInstant(), rollup.getCounts());
+        }
+
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (Instant bucket = start; bucket.isBefore(to); bucket = bucket.plus(1, unit)) {
+            Map<String, Long> counts = stored.get(bucket);
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("bucketStart", bucket.toString());
+            for (String metric : METRICS.keySet()) {
+                point.put(metric, counts != null ? counts.getOrDefault(metric, 0L) : 0L);
+            }
+            points.add(point);
+        }
+        return points;
+    }
+
+    private void rollupHours(Instant from, Instant to) {
+        // Start every hour in the window at zero so deletions and empty hours are reflected
+        Map<Instant, Map<String, Long>> hours = new TreeMap<>();
+        for (Instant hour = from; hour.isBefore(to); hour = hour.plus(1, ChronoUnit.HOURS)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            METRICS.keySet().forEach(metric -> counts.put(metric, 0L));
+            hours.put(hour, counts);
+        }
+
+        for (Map.Entry<String, Class<?>> metric : METRICS.entrySet()) {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("createdAt").gte(Date.from(from)).lt(Date.from(to))),
+                    Aggregation.project()
+                            .and(DateOperators.dateOf("createdAt").toString("%Y-%m-%dT%H:00:00Z")).as("bucket"),
+                    Aggregation.group("bucket").count().as("count"));
+            String collection = mongoTemplate.getCollectionName(metric.getValue());
+            for (Document bucket : mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults()) {
+                Map<String, Long> counts = hours.get(Instant.parse(bucket.getString("_id")));
+                if (counts != null) {
+                    counts.put(metric.getKey(), ((Number) bucket.get("count")).longValue());
+                }
+            }
+        }
+
+        writeBuckets(StatsRollup.HOUR, hours);
+    }
+
+    private void rollupDays(Instant from, Instant to) {
+        Map<Instant, Map<String, Long>> days = new TreeMap<>();
+        for (Instant day = from; day.isBefore(to); day = day.plus(1, ChronoUnit.DAYS)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            METRICS.keySet().forEach(metric -> counts.put(metric, 0L));
+            days.put(day, counts);
+        }
+
+        // Days are summed from the hourly rollups rather than rescanning the source collections
+        Query query = new Query(Criteria.where("granularity").is(StatsRollup.HOUR)
+                .and("bucketStart").gte(Date.from(from)).lt(Date.from(to)));
+        for (StatsRollup hour : mongoTemplate.find(query, StatsRollup.class)) {
+            Map<String, Long> counts = days.get(hour.getBucketStart().toInstant().truncatedTo(ChronoUnit.DAYS));
+            if (counts != null) {
+                hour.getCounts().forEach((metric, value) -> counts.merge(metric, value, Long::sum));
+            }
+        }
+
+        writeBuckets(StatsRollup.DAY, days);
+    }
+
+    private void writeBuckets(String granularity, Map<Instant, Map<String, Long>> buckets) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatsRollup.class);
+        int pending = 0;
+        Date now = new Date();
+        for (Map.Entry<Instant, Map<String, Long>> bucket : buckets.entrySet()) {
+            String id = granularity + ":" + bucket.getKey();
+            Update update = new Update()
+                    .set("granularity", granularity)
+                    .set("bucketStart", Date.from(bucket.getKey()))
+                    .set("counts", bucket.getValue())
+                    .set("updatedAt", now);
+            bulk.upsert(Query.query(Criteria.where("id").is(id)), update);
+            if (++pending == WRITE_BATCH_SIZE) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StatsRollup.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+    }
+
+    private Instant loadWatermark() {
+        Document job = mongoTemplate.findById(JOB_ID, Document.class, JOBS_COLLECTION);
+        Date watermark = job != null ? job.getDate("watermark") : null;
+        return watermark != null ? watermark.toInstant() : null;
+    }
+
+    private void saveWatermark(Instant watermark) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(JOB_ID)),
+                new Update().set("watermark", Date.from(watermark)), JOBS_COLLECTION);
+    }
+}
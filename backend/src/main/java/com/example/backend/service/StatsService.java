@@ -0,0 +1,193 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Report;
+import com.example.backend.model.StatsCounter;
+import com.example.backend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Dashboard statistics computed with one $group aggregation per collection
+ * instead of a count query per bucket. Results are cached for a short TTL.
+ * Report counts are additionally kept in a {@link StatsCounter} document that is
+ * updated with $inc on create and status change, and reconciled periodically.
+ */
+@Service
+public class StatsService {
+    private static final Logger logger = Logger.getLogger(StatsService.class.getName());
+
+    public static final String REPORTS_COUNTER_ID = "reports";
+    private static final String[] REPORT_STATUSES = { "PENDING", "RESOLVED", "REJECTED" };
+    // Status values end up in a field path ("counts.<status>"), so only plain identifiers are counted
+    private static final Pattern COUNTER_KEY = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean reportCountersEnabled;
+    private final Cache<String, Map<String, Object>> cache;
+
+    public StatsService(
+            MongoTemplate mongoTemplate,
+            @Value("${stats.cache.ttl-seconds:15}") long ttlSeconds,
+            @Value("${stats.reports.counters-enabled:true}") boolean reportCountersEnabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.reportCountersEnabled = reportCountersEnabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Report totals by status: {total, pending, resolved, rejected}
+     */
+    public Map<String, Object> getReportStats() {
+        if (reportCountersEnabled) {
+            StatsCounter counter = mongoTemplate.findById(REPORTS_COUNTER_ID, StatsCounter.class);
+            if (counter != null) {
+                return toReportStats(counter.getTotal(), counter.getCounts());
+            }
+        }
+        return cache.get("reports", key -> aggregateReportStats());
+    }
+
+    /**
+     * User totals in one pass: {total, newToday, active}
+     */
+    public Map<String, Object> getUserStats() {
+        Date startOfDay = Date.from(LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant());
+        // Keyed by day so a cached value never straddles midnight
+        return cache.get("users:" + startOfDay.getTime(), key -> aggregateUserStats(startOfDay));
+    }
+
+    /**
+     * Count a newly created report
+     */
+    public void recordReportCreated(String status) {
+        if (!reportCountersEnabled) {
+            return;
+        }
+        Update update = new Update().inc("total", 1L).currentDate("updatedAt");
+        if (isCounterKey(status)) {
+            update.inc("counts." + status, 1L);
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(REPORTS_COUNTER_ID)), update, StatsCounter.class);
+        cache.invalidate("reports");
+    }
+
+    /**
+     * Move a report from one status bucket to another
+     */
+    public void recordReportStatusChange(String oldStatus, String newStatus) {
+        if (!reportCountersEnabled || (oldStatus != null && oldStatus.equals(newStatus))) {
+            return;
+        }
+        Update update = new Update().currentDate("updatedAt");
+        if (isCounterKey(oldStatus)) {
+            update.inc("counts." + oldStatus, -1L);
+        }
+        if (isCounterKey(newStatus)) {
+            update.inc("counts." + newStatus, 1L);
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(REPORTS_COUNTER_ID)), update, StatsCounter.class);
+        cache.invalidate("reports");
+    }
+
+    /**
+     * Rebuild the report counters from the collection. Runs at startup so the
+     * counters exist before the first increment, and periodically to correct any drift.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.reports.reconcile-ms:3600000}", initialDelayString = "${stats.reports.reconcile-ms:3600000}")
+    public void reconcileReportCounters() {
+        if (!reportCountersEnabled) {
+            return;
+        }
+        try {
+            Map<String, Long> counts = groupCounts(Report.class, "status");
+            StatsCounter counter = new StatsCounter();
+            counter.setId(REPORTS_COUNTER_ID);
+            counter.setTotal(counts.values().stream().mapToLong(Long::longValue).sum());
+            counter.setCounts(counts);
+            counter.setUpdatedAt(new Date());
+            mongoTemplate.findAndReplace(Query.query(Criteria.where("id").is(REPORTS_COUNTER_ID)), counter,
+                    FindAndReplaceOptions.options().upsert());
+            cache.invalidate("reports");
+        } catch (Exception e) {
+            logger.warning("Failed to reconcile report counters: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> aggregateReportStats() {
+        Map<String, Long> counts = groupCounts(Report.class, "status");
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        return toReportStats(total, counts);
+    }
+
+    private Map<String, Long> groupCounts(Class<?> type, String field) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group(field).count().as("count"));
+        AggregationResults<Document> results = mongoTemplate.aggregate(aggregation, type, Document.class);
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Document bucket : results.getMappedResults()) {
+            Object key = bucket.get("_id");
+            counts.put(key != null ? key.toString() : "UNKNOWN", ((Number) bucket.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private Map<String, Object> aggregateUserStats(Date startOfDay) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group()
+                        .count().as("total")
+                        .sum(ConditionalOperators.when(Criteria.where("enabled").is(true)).then(1).otherwise(0))
+                        .as("active")
+                        .sum(ConditionalOperators.when(ComparisonOperators.valueOf("createdAt")
+                                .greaterThanEqualToValue(startOfDay)).then(1).otherwise(0))
+                        .as("newToday"));
+        Document result = mongoTemplate.aggregate(aggregation, User.class, Document.class).getUniqueMappedResult();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", result != null ? ((Number) result.get("total")).longValue() : 0L);
+        stats.put("active", result != null ? ((Number) result.get("active")).longValue() : 0L);
+        stats.put("newToday", result != null ? ((Number) result.get("newToday")).longValue() : 0L);
+        return stats;
+    }
+
+    private Map<String, Object> toReportStats(long total, Map<String, Long> counts) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", total);
+        for (String status : REPORT_STATUSES) {
+            stats.put(status.toLowerCase(), Math.max(counts.getOrDefault(status, 0L), 0L));
+        }
+        return stats;
+    }
+
+    private boolean isCounterKey(String status) {
+        return status != null && COUNTER_KEY.matcher(status).matches();
+    }
+}
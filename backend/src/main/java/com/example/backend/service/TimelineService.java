@@ -0,0 +1,303 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.FeedCursor;
+import com.example.backend.model.Follow;
+import com.example.backend.model.FollowerCount;
+import com.example.backend.model.Post;
+import com.example.backend.model.TimelineEntry;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.TimelineEntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Materialized per-user home timelines.
+ *
+ * New posts are pushed into the timelines of the author's followers (fan-out on
+ * write). Authors with at least timeline.fanout-threshold followers are skipped on
+ * write and their posts are pulled at read time instead, so one celebrity post
+ * never turns into millions of inserts. Which followees are pulled is cached per
+ * reader for timeline.high-fanout-cache-seconds, so a feed read does not load the
+ * reader's whole follow list every time.
+ *
+ * Users whose timeline is still empty on a first-page read (typically accounts that
+ * existed before timelines were materialized) get it rebuilt once per node within the
+ * same cache period.
+ */
+@Service
+public class TimelineService {
+    private static final Logger logger = Logger.getLogger(TimelineService.class.getName());
+    private static final int FANOUT_BATCH_SIZE = 1000;
+    private static final int BACKFILL_SIZE = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final FollowRepository followRepository;
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final PostRepository postRepository;
+    private final Cache<String, List<String>> highFanoutFollowees;
+    // Readers whose empty timeline was already rebuilt on this node
+    private final Cache<String, Boolean> rebuiltEmptyTimelines;
+
+    @Value("${timeline.max-length:800}")
+    private int maxLength;
+
+    @Value("${timeline.fanout-threshold:5000}")
+    private long fanoutThreshold;
+
+    @Autowired
+    public TimelineService(MongoTemplate mongoTemplate,
+            FollowRepository followRepository,
+            TimelineEntryRepository timelineEntryRepository,
+            PostRepository postRepository,
+            @Value("${timeline.high-fanout-cache-seconds:60}") long highFanoutCacheSeconds,
+            @Value("${timeline.high-fanout-cache-size:100000}") long highFanoutCacheSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.followRepository = followRepository;
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.postRepository = postRepository;
+        this.highFanoutFollowees = Caffeine.newBuilder()
+                .maximumSize(highFanoutCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(highFanoutCacheSeconds))
+                .build();
+        this.rebuiltEmptyTimelines = Caffeine.newBuilder()
+                .maximumSize(highFanoutCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(highFanoutCacheSeconds))
+                .build();
+    }
+
+    /**
+     * Push a newly created post into the author's own timeline and, unless the
+     * author is high-fanout, into every follower's timeline
+     */
+    @Async
+    public void fanOut(Post post) {
+        try {
+            List<String> recipients = new ArrayList<>();
+            recipients.add(post.getUserId());
+            if (!isHighFanout(post.getUserId())) {
+                for (Follow follow : followRepository.findByFolloweeId(post.getUserId())) {
+                    recipients.add(follow.getFollowerId());
+                }
+            }
+
+            for (int i = 0; i < recipients.size(); i += FANOUT_BATCH_SIZE) {
+                List<TimelineEntry> batch = recipients.subList(i, Math.min(i + FANOUT_BATCH_SIZE, recipients.size()))
+                        .stream()
+                        .map(userId -> new TimelineEntry(userId, post))
+                        .collect(Collectors.toList());
+                insertEntries(batch);
+            }
+        } catch (Exception e) {
+            // Timeline is a derived view; rebuildTimeline() can always repair it
+            logger.severe("Failed to fan out post " + post.getId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Read up to fetchSize posts of the user's home timeline older than the cursor,
+     * newest first: one range scan over the materialized entries, merged with posts
+     * pulled from followed high-fanout authors
+     */
+    public List<Post> getTimelinePosts(String userId, FeedCursor cursor, int fetchSize) {
+        List<String> postIds = findTimelinePostIds(userId, cursor, fetchSize);
+        if (postIds.isEmpty() && cursor == null
+                && rebuiltEmptyTimelines.asMap().putIfAbsent(userId, Boolean.TRUE) == null) {
+            // Only fan-out fills timelines, so one that was never built stays empty until rebuilt
+            rebuildTimeline(userId);
+            postIds = findTimelinePostIds(userId, null, fetchSize);
+        }
+
+        Map<String, Post> posts = new LinkedHashMap<>();
+        for (Post post : postRepository.findAllById(postIds)) {
+            posts.put(post.getId(), post);
+        }
+
+        List<String> pulledAuthors = getHighFanoutFollowees(userId);
+        if (!pulledAuthors.isEmpty()) {
+            Query pullQuery = new Query(keyset(Criteria.where("userId").in(pulledAuthors), cursor, "id", false))
+                    .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                    .limit(fetchSize);
+            for (Post post : mongoTemplate.find(pullQuery, Post.class)) {
+                posts.putIfAbsent(post.getId(), post);
+            }
+        }
+
+        return posts.values().stream()
+                .sorted(Comparator.comparing(Post::getCreatedAt).thenComparing(Post::getId).reversed())
+                .limit(fetchSize)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> findTimelinePostIds(String userId, FeedCursor cursor, int fetchSize) {
+        Query entryQuery = new Query(keyset(Criteria.where("userId").is(userId), cursor, "postId", true))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "postId"))
+                .limit(fetchSize);
+        entryQuery.fields().include("postId");
+        return mongoTemplate.find(entryQuery, TimelineEntry.class).stream()
+                .map(TimelineEntry::getPostId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset condition on (createdAt, id) strictly after the cursor in descending order
+     */
+    private Criteria keyset(Criteria base, FeedCursor cursor, String idField, boolean idAsString) {
+        if (cursor == null) {
+            return base;
+        }
+        Object id = idAsString ? cursor.getId().toHexString() : cursor.getId();
+        return base.orOperator(
+                Criteria.where("createdAt").lt(cursor.getCreatedAt()),
+                new Criteria().andOperator(
+                        Criteria.where("createdAt").is(cursor.getCreatedAt()),
+                        Criteria.where(idField).lt(id)));
+    }
+
+    /**
+     * Discard a user's timeline and refill it from the latest posts of the people they follow
+     */
+    public void rebuildTimeline(String userId) {
+        timelineEntryRepository.deleteByUserId(userId);
+
+        List<String> authors = followRepository.findByFollowerId(userId).stream()
+                .map(Follow::getFolloweeId)
+                .collect(Collectors.toList());
+        authors.removeAll(getHighFanoutFollowees(userId));
+        authors.add(userId);
+
+        Query query = new Query(Criteria.where("userId").in(authors))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(maxLength);
+        query.fields().include("userId", "createdAt");
+        List<TimelineEntry> entries = mongoTemplate.find(query, Post.class).stream()
+                .map(post -> new TimelineEntry(userId, post))
+                .collect(Collectors.toList());
+        for (int i = 0; i < entries.size(); i += FANOUT_BATCH_SIZE) {
+            insertEntries(entries.subList(i, Math.min(i + FANOUT_BATCH_SIZE, entries.size())));
+        }
+        logger.info("Rebuilt timeline for user " + userId + " with " + entries.size() + " entries");
+    }
+
+    /**
+     * Copy an author's most recent posts into a new follower's timeline
+     */
+    public void backfillFromAuthor(String userId, String authorId) {
+        highFanoutFollowees.invalidate(userId);
+        if (isHighFanout(authorId)) {
+            return;
+        }
+        Query query = new Query(Criteria.where("userId").is(authorId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(BACKFILL_SIZE);
+        query.fields().include("userId", "createdAt");
+        insertEntries(mongoTemplate.find(query, Post.class).stream()
+                .map(post -> new TimelineEntry(userId, post))
+                .collect(Collectors.toList()));
+    }
+
+    public void removeAuthor(String userId, String authorId) {
+        highFanoutFollowees.invalidate(userId);
+        timelineEntryRepository.deleteByUserIdAndAuthorId(userId, authorId);
+    }
+
+    public void removePost(String postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    /**
+     * Keep only the newest timeline.max-length entries of a user's timeline
+     */
+    public void trimTimeline(String userId) {
+        Query boundaryQuery = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "postId"))
+                .skip(maxLength)
+                .limit(1);
+        TimelineEntry boundary = mongoTemplate.findOne(boundaryQuery, TimelineEntry.class);
+        if (boundary == null) {
+            return;
+        }
+
+        Criteria olderThanBoundary = Criteria.where("userId").is(userId).orOperator(
+                Criteria.where("createdAt").lt(boundary.getCreatedAt()),
+                new Criteria().andOperator(
+                        Criteria.where("createdAt").is(boundary.getCreatedAt()),
+                        Criteria.where("postId").lte(boundary.getPostId())));
+        mongoTemplate.remove(new Query(olderThanBoundary), TimelineEntry.class);
+    }
+
+    /**
+     * Trim every timeline that has grown past the maximum length
+     */
+    @Scheduled(cron = "${timeline.trim-cron:0 30 3 * * *}")
+    public void trimAllTimelines() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("userId").count().as("entries"),
+                Aggregation.match(Criteria.where("entries").gt(maxLength)));
+        List<Document> oversized = mongoTemplate.aggregate(aggregation, TimelineEntry.class, Document.class)
+                .getMappedResults();
+        for (Document doc : oversized) {
+            trimTimeline(doc.getString("_id"));
+        }
+        logger.info("Trimmed " + oversized.size() + " timelines");
+    }
+
+    private boolean isHighFanout(String userId) {
+        FollowerCount count = mongoTemplate.findById(userId, FollowerCount.class);
+        return count != null && count.getCount() >= fanoutThreshold;
+    }
+
+    private List<String> getHighFanoutFollowees(String userId) {
+        return highFanoutFollowees.get(userId, this::loadHighFanoutFollowees);
+    }
+
+    private List<String> loadHighFanoutFollowees(String userId) {
+        List<String> followees = followRepository.findByFollowerId(userId).stream()
+                .map(Follow::getFolloweeId)
+                .collect(Collectors.toList());
+        if (followees.isEmpty()) {
+            return List.of();
+        }
+        Query query = new Query(Criteria.where("userId").in(followees).and("count").gte(fanoutThreshold));
+        return mongoTemplate.find(query, FollowerCount.class).stream()
+                .map(FollowerCount::getUserId)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private void insertEntries(List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimelineEntry.class)
+                    .insert(entries)
+                    .execute();
+        } catch (BulkOperationException | DuplicateKeyException e) {
+            // Entries already present (e.g. rebuild racing with fan-out) are fine to skip
+            logger.fine("Skipped duplicate timeline entries: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.service;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Revocation list for access tokens. Revoking a user rejects every token issued to
+ * them up to that moment. Entries are persisted so that all nodes pick them up on
+ * their next refresh, and are dropped once every affected token has expired anyway.
+ */
+@Service
+public class TokenRevocationService {
+    private static final Logger logger = Logger.getLogger(TokenRevocationService.class.getName());
+    private static final String COLLECTION = "token_revocations";
+
+    private final MongoTemplate mongoTemplate;
+    private final long tokenTtlMillis;
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(
+            MongoTemplate mongoTemplate,
+            @Value("${auth.token.ttl-seconds:86400}") long tokenTtlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.tokenTtlMillis = tokenTtlSeconds * 1000;
+    }
+
+    /**
+     * Reject all tokens issued to the user so far (blocked, deleted or role changed)
+     */
+    public void revokeUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        revokedAt.put(userId, now);
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("userId").is(userId)),
+                    Update.update("revokedAt", now), COLLECTION);
+        } catch (Exception e) {
+            logger.warning("Failed to persist token revocation for " + userId + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(String userId, long issuedAt) {
+        Long revoked = revokedAt.get(userId);
+        return revoked != null && issuedAt <= revoked;
+    }
+
+    /**
+     * Pull revocations made on other nodes and forget the ones that have outlived the token TTL
+     */
+    @Scheduled(fixedDelayString = "${auth.token.revocation-refresh-ms:30000}")
+    public void refresh() {
+        long cutoff = System.currentTimeMillis() - tokenTtlMillis;
+        try {
+            Query query = new Query(Criteria.where("revokedAt").gt(cutoff));
+            for (Document doc : mongoTemplate.find(query, Document.class, COLLECTION)) {
+                revokedAt.merge(doc.getString("userId"), doc.getLong("revokedAt"), Math::max);
+            }
+            mongoTemplate.remove(new Query(Criteria.where("revokedAt").lte(cutoff)), COLLECTION);
+        } catch (Exception e) {
+            logger.warning("Failed to refresh token revocations: " + e.getMessage());
+        }
+        revokedAt.values().removeIf(revoked -> revoked <= cutoff);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.logging.Logger;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed access tokens of the form
+ * base64url(userId.role.issuedAt.expiresAt).base64url(signature).
+ * Verification is pure CPU work: no database lookup and no password hashing.
+ */
+@Service
+public class TokenService {
+    private static final Logger logger = Logger.getLogger(TokenService.class.getName());
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final TokenRevocationService revocationService;
+    private final ThreadLocal<Mac> macs;
+
+    public TokenService(
+            @Value("${auth.token.secret:}") String secret,
+            @Value("${auth.token.ttl-seconds:86400}") long ttlSeconds,
+            TokenRevocationService revocationService) {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            // Fine for a single node; every node must share auth.token.secret to scale out
+            logger.warning("auth.token.secret is not set, using a random key. Tokens will not survive a restart.");
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlMillis = ttlSeconds * 1000;
+        this.revocationService = revocationService;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Claims carried by a verified token
+     */
+    public static class TokenClaims {
+        private final String userId;
+        private final String role;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        public TokenClaims(String userId, String role, long issuedAt, long expiresAt) {
+            this.userId = userId;
+            this.role = role;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    public String issueToken(User user) {
+        long now = System.currentTimeMillis();
+        String payload = user.getId() + "." + user.getRole() + "." + now + "." + (now + ttlMillis);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(sign(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Verify signature, expiry and revocation
+     * @return the token claims, or null if the token must be rejected
+     */
+    public TokenClaims verifyToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return null;
+        }
+
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, separator));
+            byte[] signature = decoder.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\.");
+            if (parts.length != 4) {
+                return null;
+            }
+            TokenClaims claims = new TokenClaims(parts[0], parts[1],
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+
+            if (claims.getExpiresAt() < System.currentTimeMillis()) {
+                return null;
+            }
+            if (revocationService.isRevoked(claims.getUserId(), claims.getIssuedAt())) {
+                return null;
+            }
+            return claims;
+        } catch (IllegalArgumentException e) {
+            // Malformed base64 or numbers
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
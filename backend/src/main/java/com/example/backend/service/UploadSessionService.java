@@ -0,0 +1,245 @@
+package com.example.backend.service;
+
+import com.example.backend.model.MediaAsset;
+import com.example.backend.model.UploadSession;
+import com.example.backend.repository.UploadSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Resumable chunked uploads. A session preallocates a staging file; each chunk is
+ * streamed from the request straight to its offset with positional FileChannel writes,
+ * so chunks may arrive in parallel, out of order or more than once. A committed upload
+ * is handed to the media pipeline like any other staged file.
+ */
+@Service
+public class UploadSessionService {
+    private static final Logger logger = Logger.getLogger(UploadSessionService.class.getName());
+    private static final int MAX_REPORTED_MISSING = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MediaProcessingService mediaProcessingService;
+    private final int chunkSize;
+    private final long maxSizeBytes;
+    private final long ttlMillis;
+
+    public UploadSessionService(
+            UploadSessionRepository uploadSessionRepository,
+            MongoTemplate mongoTemplate,
+            MediaProcessingService mediaProcessingService,
+            @Value("${upload.session.chunk-size-bytes:5242880}") int chunkSize,
+            @Value("${upload.session.max-size-mb:200}") long maxSizeMb,
+            @Value("${upload.session.ttl-hours:24}") long ttlHours) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.mediaProcessingService = mediaProcessingService;
+        this.chunkSize = chunkSize;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.ttlMillis = ttlHours * 60 * 60 * 1000;
+    }
+
+    public UploadSession createSession(String userId, String filename, String contentType, long totalSize)
+            throws IOException {
+        if (contentType == null || !(contentType.startsWith("video/") || contentType.startsWith("image/"))) {
+            throw new IllegalArgumentException("Only image and video uploads are supported");
+        }
+        if (totalSize <= 0 || totalSize > maxSizeBytes) {
+            throw new IllegalArgumentException("Upload size must be between 1 byte and " + (maxSizeBytes / (1024 * 1024)) + "MB");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setUserId(userId);
+        session.setFilename(filename != null && !filename.isEmpty() ? filename : "upload");
+        session.setContentType(contentType);
+        session.setTotalSize(totalSize);
+        session.setChunkSize(chunkSize);
+        session.setChunkCount((int) ((totalSize + chunkSize - 1) / chunkSize));
+        session = uploadSessionRepository.save(session);
+
+        // Preallocate so every chunk can be written at its final offset in any order
+        Path partPath = partPath(session.getId());
+        Files.createDirectories(partPath.getParent());
+        try (RandomAccessFile file = new RandomAccessFile(partPath.toFile(), "rw")) {
+            file.setLength(totalSize);
+        }
+        return session;
+    }
+
+    /**
+     * Write one chunk at its offset. Re-sending a chunk simply overwrites it.
+     * @param contentLength declared request length, or -1 if unknown
+     * @throws IllegalArgumentException if the session does not belong to the user
+     */
+    public UploadSession writeChunk(String uploadId, String userId, int index, long contentLength, InputStream body)
+            throws IOException {
+        UploadSession session = getSession(uploadId, userId);
+        if (!UploadSession.OPEN.equals(session.getStatus())) {
+            throw new IllegalArgumentException("Upload session is already committed");
+        }
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (session.getChunkCount() - 1));
+        }
+
+        long offset = (long) index * session.getChunkSize();
+        long expected = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new IllegalArgumentException("Chunk " + index + " must be exactly " + expected + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(partPath(uploadId), StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(body);
+            long written = 0;
+            while (written < expected) {
+                long transferred = channel.transferFrom(source, offset + written, expected - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written != expected || body.read() != -1) {
+                throw new IllegalArgumentException("Chunk " + index + " must be exactly " + expected + " bytes");
+            }
+        }
+
+        UploadSession updated = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(uploadId).and("status").is(UploadSession.OPEN)),
+                new Update().addToSet("receivedChunks", index),
+                FindAndModifyOptions.options().returnNew(true),
+                UploadSession.class);
+        if (updated == null) {
+            throw new IllegalArgumentException("Upload session is no longer open");
+        }
+        return updated;
+    }
+
+    /**
+     * Mark the upload complete once every chunk has arrived
+     */
+    public UploadSession commit(String uploadId, String userId) {
+        UploadSession session = getSession(uploadId, userId);
+        List<Integer> missing = getMissingChunks(session);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Upload is missing chunks: " + missing);
+        }
+
+        UploadSession committed = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(uploadId)),
+                new Update().set("status", UploadSession.COMMITTED),
+                FindAndModifyOptions.options().returnNew(true),
+                UploadSession.class);
+        if (committed == null) {
+            throw new IllegalArgumentException("Upload session not found");
+        }
+        return committed;
+    }
+
+    /**
+     * Get a committed upload owned by the user
+     */
+    public UploadSession getCommittedSession(String uploadId, String userId) {
+        UploadSession session = getSession(uploadId, userId);
+        if (!UploadSession.COMMITTED.equals(session.getStatus())) {
+            throw new IllegalArgumentException("Upload has not been committed");
+        }
+        return session;
+    }
+
+    /**
+     * Move a committed upload into the media pipeline's staging area, ending the session
+     */
+    public MediaAsset consume(String uploadId, String userId, String type) throws IOException {
+        getCommittedSession(uploadId, userId);
+        // Claim atomically so a double submit cannot stage the same file twice
+        UploadSession claimed = mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("id").is(uploadId).and("status").is(UploadSession.COMMITTED)),
+                UploadSession.class);
+        if (claimed == null) {
+            throw new IllegalArgumentException("Upload has already been used");
+        }
+        return mediaProcessingService.stageFile(userId, partPath(uploadId), claimed.getFilename(), type,
+                claimed.getContentType(), claimed.getTotalSize());
+    }
+
+    public void abort(String uploadId, String userId) throws IOException {
+        getSession(uploadId, userId);
+        uploadSessionRepository.deleteById(uploadId);
+        Files.deleteIfExists(partPath(uploadId));
+    }
+
+    public UploadSession getSession(String uploadId, String userId) {
+        UploadSession session = uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new IllegalArgumentException("Upload session not found"));
+        if (userId == null || !userId.equals(session.getUserId())) {
+            throw new IllegalArgumentException("Upload session belongs to another user");
+        }
+        return session;
+    }
+
+    /**
+     * Session state for the client, including which chunks still need to be sent
+     */
+    public Map<String, Object> describe(UploadSession session) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("uploadId", session.getId());
+        result.put("status", session.getStatus());
+        result.put("totalSize", session.getTotalSize());
+        result.put("chunkSize", session.getChunkSize());
+        result.put("chunkCount", session.getChunkCount());
+        result.put("receivedCount", session.getReceivedChunks().size());
+        result.put("missingChunks", getMissingChunks(session));
+        return result;
+    }
+
+    /**
+     * Remove sessions that were never used, together with their staging files
+     */
+    @Scheduled(fixedDelayString = "${upload.session.cleanup-ms:3600000}")
+    public void removeExpiredSessions() {
+        try {
+            Date cutoff = new Date(System.currentTimeMillis() - ttlMillis);
+            for (UploadSession session : uploadSessionRepository.findByCreatedAtBefore(cutoff)) {
+                uploadSessionRepository.deleteById(session.getId());
+                Files.deleteIfExists(partPath(session.getId()));
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to remove expired upload sessions: " + e.getMessage());
+        }
+    }
+
+    private List<Integer> getMissingChunks(UploadSession session) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < session.getChunkCount() && missing.size() < MAX_REPORTED_MISSING; i++) {
+            if (!session.getReceivedChunks().contains(i)) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    private Path partPath(String uploadId) {
+        return mediaProcessingService.resolveStaged("upload-" + uploadId + ".part");
+    }
+}
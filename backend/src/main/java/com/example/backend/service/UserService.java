@@ -1,22 +1,25 @@
 package com.example.backend.service;
 
-import com.example.backend.model.Post;
+import com.example.backend.dto.CursorPage;
+import com.example.backend.model.MediaBlob;
 import com.example.backend.model.PostResponse;
 import com.example.backend.model.User;
 import com.example.backend.repository.PostRepository;
 import com.example.backend.repository.UserRepository;
 import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.BsonObjectId;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -32,6 +35,24 @@ public class UserService {
     
     @Autowired
     private GridFSBucket gridFSBucket;
+    
+    @Autowired
+    private AuthenticationCacheService authenticationCacheService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private UserSummaryService userSummaryService;
+    
+    @Autowired
+    private MediaBlobService mediaBlobService;
+    
+    @Autowired
+    private MediaProcessingService mediaProcessingService;
+    
+    @Autowired
+    private MediaUploadSink mediaUploadSink;
 
     public User getUserById(String userId) {
         User user = userRepository.findById(userId)
@@ -66,37 +87,80 @@ public class UserService {
                 throw new IllegalArgumentException("Only image files are allowed for profile picture");
             }
 
-            // Save to GridFS
-            ObjectId fileId = gridFSBucket.uploadFromStream(
-                profilePicture.getOriginalFilename(), 
-                profilePicture.getInputStream()
-            );
+            String previousPicture = user.getProfilePicture();
+            String mediaId = storeProfilePicture(profilePicture);
             
             // Create URL for the profile picture
-            String mediaId = fileId.toHexString();
             user.setProfilePicture("/api/media/" + mediaId);
-            
-            // Save to local storage
-            Path uploadsPath = Paths.get("backend", "uploads");
-            if (!Files.exists(uploadsPath)) {
-                Files.createDirectories(uploadsPath);
-            }
-            
-            Path filePath = uploadsPath.resolve(mediaId);
-            Files.write(filePath, profilePicture.getBytes());
+            releaseProfilePicture(previousPicture);
         }
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userSummaryService.evict(userId);
+        return savedUser;
     }
 
-    public List<PostResponse> getUserPosts(String userId) {
-        userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+    /**
+     * Store a profile picture once per distinct content, sharing the blob with any
+     * identical upload
+     * @return the media id to serve it under
+     */
+    private String storeProfilePicture(MultipartFile profilePicture) throws IOException {
+        String sha256;
+        try (InputStream in = profilePicture.getInputStream()) {
+            sha256 = MediaBlobService.sha256Hex(in);
+        }
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            MediaBlob existing = mediaBlobService.acquire(sha256);
+            if (existing != null) {
+                return existing.getBlobId();
+            }
+
+            ObjectId fileId = new ObjectId();
+            String mediaId = fileId.toHexString();
+            Path storedPath = mediaProcessingService.resolveStored(mediaId);
+            Files.createDirectories(storedPath.getParent());
             
-        List<Post> posts = postRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return posts.stream()
-            .map(post -> postService.convertToPostResponse(post))
-            .collect(Collectors.toList());
+            // Save to GridFS and local storage in a single pass
+            GridFSUploadOptions options = new GridFSUploadOptions().metadata(new org.bson.Document("type", "image")
+                    .append("contentType", profilePicture.getContentType()));
+            try (ReadableByteChannel source = Channels.newChannel(profilePicture.getInputStream())) {
+                mediaUploadSink.write(source, storedPath,
+                        gridFSBucket.openUploadStream(new BsonObjectId(fileId), profilePicture.getOriginalFilename(),
+                                options));
+            }
+
+            if (mediaBlobService.register(sha256, mediaId, profilePicture.getContentType(),
+                    profilePicture.getSize(), null) != null) {
+                return mediaId;
+            }
+            // Identical picture stored concurrently, use that one instead
+            mediaProcessingService.deleteStoredMedia(mediaId);
+        }
+        throw new IllegalStateException("Could not store profile picture");
+    }
+
+    /**
+     * Drop the reference held by a replaced profile picture. Pictures stored before
+     * deduplication are not indexed and are left alone.
+     */
+    private void releaseProfilePicture(String previousPicture) {
+        if (previousPicture == null || !previousPicture.startsWith("/api/media/")) {
+            return;
+        }
+        MediaBlob blob = mediaBlobService.findByBlobId(previousPicture.substring("/api/media/".length()));
+        if (blob != null) {
+            mediaProcessingService.releaseBlob(blob.getSha256());
+        }
+    }
+
+    public CursorPage<PostResponse> getUserPosts(String userId, String cursor, Integer limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
+
+        return postService.getUserPostsPage(userId, cursor, limit);
     }
     
     public User updateUserRole(String userId, String newRole) {
@@ -111,10 +175,19 @@ public class UserService {
         }
         
         user.setRole(newRole);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        authenticationCacheService.evictUser(savedUser.getEmail());
+        tokenRevocationService.revokeUser(savedUser.getId());
+        userSummaryService.evict(savedUser.getId());
+        return savedUser;
     }
 
     public User saveUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Role or status may have changed, force the next request to re-authenticate
+        authenticationCacheService.evictUser(savedUser.getEmail());
+        tokenRevocationService.revokeUser(savedUser.getId());
+        userSummaryService.evict(savedUser.getId());
+        return savedUser;
     }
 }
@@ -0,0 +1,114 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.UserSummary;
+import com.example.backend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded read-through cache of user summaries (name, picture, role, enabled).
+ * Misses for a whole page are loaded with one projected $in query.
+ * Every write that touches these fields must call {@link #evict(String)}.
+ */
+@Service
+public class UserSummaryService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ContentVersionService contentVersionService;
+    private final Cache<String, UserSummary> cache;
+
+    public UserSummaryService(
+            MongoTemplate mongoTemplate,
+            ContentVersionService contentVersionService,
+            @Value("${cache.user-summary.max-size:50000}") long maxSize,
+            @Value("${cache.user-summary.ttl-seconds:600}") long ttlSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.contentVersionService = contentVersionService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a single user summary
+     * @return the summary, or null if the user does not exist
+     */
+    public UserSummary getSummary(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getSummaries(Collections.singletonList(userId)).get(userId);
+    }
+
+    /**
+     * Get summaries for many users, hitting Mongo once for all cache misses.
+     * Users that do not exist are absent from the result.
+     */
+    public Map<String, UserSummary> getSummaries(Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Set<String> distinctIds = userIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(java.util.LinkedHashSet::new));
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        return cache.getAll(distinctIds, this::loadSummaries);
+    }
+
+    public void evict(String userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+            // Author names and pictures are embedded in post and comment responses
+            contentVersionService.authorChanged();
+        }
+    }
+
+    /**
+     * Hit/miss counters for the admin dashboard
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loads", stats.loadCount());
+        result.put("loadFailures", stats.loadFailureCount());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private Map<String, UserSummary> loadSummaries(Set<? extends String> userIds) {
+        Query query = new Query(Criteria.where("id").in(userIds));
+        query.fields().include("firstName", "lastName", "profilePicture", "role", "enabled");
+
+        Map<String, UserSummary> summaries = new HashMap<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            summaries.put(user.getId(), UserSummary.from(user));
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.backend.config;
+
+import com.example.backend.service.ContentVersionService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConditionalGetFilterTest {
+    private static final String ETAG = "\"p-1\"";
+
+    private ConditionalGetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ContentVersionService contentVersionService = mock(ContentVersionService.class);
+        when(contentVersionService.postEtag("post-1")).thenReturn(ETAG);
+        filter = new ConditionalGetFilter(contentVersionService);
+    }
+
+    @Test
+    void matchingPostEtagIsNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/post-1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void viewerResponsesAreNotValidatedWithTheSharedEtag() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/post-1");
+        request.setParameter("include", "preview,viewer");
+        request.setParameter("viewerId", "user-1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(chain.getRequest());
+    }
+}
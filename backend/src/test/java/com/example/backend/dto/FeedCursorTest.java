@@ -0,0 +1,58 @@
+package com.example.backend.dto;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedCursorTest {
+
+    @Test
+    void encodeThenDecodeRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 45, 123_456_000);
+        ObjectId id = new ObjectId();
+
+        FeedCursor decoded = FeedCursor.decode(new FeedCursor(createdAt, id).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(id, decoded.getId());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String cursor = new FeedCursor(LocalDateTime.of(2024, 1, 1, 0, 0), new ObjectId()).encode();
+
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="));
+    }
+
+    @Test
+    void rejectsCursorThatIsNotBase64() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not base64!"));
+    }
+
+    @Test
+    void rejectsCursorWithoutSeparator() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encode("2024-01-01T00:00")));
+    }
+
+    @Test
+    void rejectsCursorWithBadTimestamp() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FeedCursor.decode(encode("yesterday|" + new ObjectId().toHexString())));
+    }
+
+    @Test
+    void rejectsCursorWithBadId() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encode("2024-01-01T00:00|xyz")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Comment;
+import com.example.backend.model.CommentResponse;
+import com.example.backend.repository.CommentRepository;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentServiceTest {
+    private static final String ROOT = new ObjectId().toHexString();
+    private static final String CHILD = ROOT + "/" + new ObjectId().toHexString();
+    private static final String GRANDCHILD = CHILD + "/" + new ObjectId().toHexString();
+    private static final String SIBLING = new ObjectId().toHexString();
+
+    @Test
+    void subtreeBoundsAreBetweenSeparatorAndNextCharacter() {
+        Document bounds = (Document) CommentService.subtreeCriteria(ROOT, null).getCriteriaObject().get("path");
+
+        assertEquals(ROOT + "/", bounds.get("$gt"));
+        assertEquals(ROOT + "0", bounds.get("$lt"));
+    }
+
+    @Test
+    void subtreeMatchesStrictDescendantsOnly() {
+        List<String> paths = List.of(ROOT, CHILD, GRANDCHILD, SIBLING, SIBLING + "/" + new ObjectId().toHexString());
+
+        assertEquals(List.of(CHILD, GRANDCHILD), matching(ROOT, null, paths));
+        assertEquals(List.of(GRANDCHILD), matching(CHILD, null, paths));
+        assertEquals(List.of(), matching(GRANDCHILD, null, paths));
+    }
+
+    @Test
+    void cursorStartsAfterTheLastPathSeen() {
+        String secondChild = ROOT + "/" + new ObjectId().toHexString();
+        List<String> paths = List.of(ROOT, CHILD, GRANDCHILD, secondChild);
+
+        assertEquals(List.of(GRANDCHILD, secondChild).stream().sorted().collect(Collectors.toList()),
+                matching(ROOT, CHILD, paths));
+        assertEquals(ROOT + "0",
+                ((Document) CommentService.subtreeCriteria(ROOT, CHILD).getCriteriaObject().get("path")).get("$lt"));
+    }
+
+    @Test
+    void editDoesNotResetReplyCount() {
+        CommentRepository commentRepository = mock(CommentRepository.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        CommentService commentService = new CommentService(commentRepository, mock(PostRepository.class),
+                mock(UserRepository.class), mock(AuthorEnrichmentService.class), mongoTemplate,
+                mock(ContentVersionService.class), mock(LiveUpdateService.class), 3, 8);
+        // The copy read for the ownership check predates two replies
+        when(commentRepository.findById("comment-1")).thenReturn(Optional.of(comment("before", 0)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Comment.class))).thenReturn(comment("after", 2));
+
+        CommentResponse response = commentService.updateComment("comment-1", "user-1", "after");
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(Comment.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals("after", set.get("content"));
+        assertFalse(set.containsKey("replyCount"));
+        verify(commentRepository, never()).save(any(Comment.class));
+        assertEquals(2, response.getReplyCount());
+    }
+
+    private static Comment comment(String content, long replyCount) {
+        Comment comment = new Comment();
+        comment.setId("comment-1");
+        comment.setPostId("post-1");
+        comment.setUserId("user-1");
+        comment.setContent(content);
+        comment.setReplyCount(replyCount);
+        return comment;
+    }
+
+    /**
+     * Apply the criteria's string bounds the way MongoDB compares them
+     */
+    private static List<String> matching(String path, String after, List<String> paths) {
+        Document bounds = (Document) CommentService.subtreeCriteria(path, after).getCriteriaObject().get("path");
+        String lower = (String) bounds.get("$gt");
+        String upper = (String) bounds.get("$lt");
+        return paths.stream()
+                .filter(candidate -> candidate.compareTo(lower) > 0 && candidate.compareTo(upper) < 0)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
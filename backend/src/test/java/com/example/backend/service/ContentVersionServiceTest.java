@@ -0,0 +1,79 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Post;
+import com.example.backend.model.StatsCounter;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentVersionServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private ContentVersionService contentVersionService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.estimatedCount(Post.class)).thenReturn(10L);
+        contentVersionService = new ContentVersionService(mongoTemplate, 100, 60);
+    }
+
+    @Test
+    void feedEtagFollowsTheMostRecentlyChangedPost() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Post.class))).thenReturn(post("post-1", 4));
+        String before = contentVersionService.feedEtag();
+
+        when(mongoTemplate.findOne(any(Query.class), eq(Post.class))).thenReturn(post("post-2", 9));
+        // Cached until a write on this node
+        assertEquals(before, contentVersionService.feedEtag());
+        contentVersionService.postChanged("post-2");
+        assertNotEquals(before, contentVersionService.feedEtag());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, atLeastOnce()).findOne(query.capture(), eq(Post.class));
+        assertEquals(new Document("changedAt", -1).append("id", -1), query.getValue().getSortObject());
+    }
+
+    @Test
+    void postWritesDoNotTouchTheSharedCounter() {
+        contentVersionService.postCreated();
+        contentVersionService.postChanged("post-1");
+        contentVersionService.commentsChanged("post-1");
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(StatsCounter.class));
+    }
+
+    @Test
+    void authorChangeMovesTheFeedEtag() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Post.class))).thenReturn(post("post-1", 4));
+        String before = contentVersionService.feedEtag();
+
+        StatsCounter counter = new StatsCounter();
+        counter.getCounts().put("authors", 1L);
+        when(mongoTemplate.findById("content_versions", StatsCounter.class)).thenReturn(counter);
+        contentVersionService.authorChanged();
+
+        assertNotEquals(before, contentVersionService.feedEtag());
+    }
+
+    private static Post post(String id, long version) {
+        Post post = new Post();
+        post.setId(id);
+        post.setVersion(version);
+        return post;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import com.example.backend.model.MediaBlob;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MediaBlobServiceTest {
+    private static final String HASH = "ab12";
+
+    private MongoTemplate mongoTemplate;
+    private MediaBlobService mediaBlobService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        mediaBlobService = new MediaBlobService(mongoTemplate);
+    }
+
+    @Test
+    void acquireIncrementsOnlyLiveBlobs() {
+        MediaBlob blob = blob(2);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(MediaBlob.class))).thenReturn(blob);
+
+        assertSame(blob, mediaBlobService.acquire(HASH));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+                eq(MediaBlob.class));
+        assertEquals(HASH, query.getValue().getQueryObject().get("sha256"));
+        // A blob at zero is being deleted and must not be revived
+        assertEquals(new Document("$gt", 0), query.getValue().getQueryObject().get("refCount"));
+        assertEquals(new Document("refCount", 1L), update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void acquireReturnsNullWhenNoLiveBlobExists() {
+        assertNull(mediaBlobService.acquire(HASH));
+    }
+
+    @Test
+    void releaseKeepsBlobWhileReferencesRemain() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(MediaBlob.class))).thenReturn(blob(1));
+
+        assertNull(mediaBlobService.release(HASH));
+        verify(mongoTemplate, never()).findAndRemove(any(Query.class), eq(MediaBlob.class));
+    }
+
+    @Test
+    void releaseOfLastReferenceRemovesAndReturnsBlob() {
+        MediaBlob removed = blob(0);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(MediaBlob.class))).thenReturn(blob(0));
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(MediaBlob.class))).thenReturn(removed);
+
+        assertSame(removed, mediaBlobService.release(HASH));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(MediaBlob.class));
+        assertEquals(new Document("refCount", -1L), update.getValue().getUpdateObject().get("$inc"));
+
+        ArgumentCaptor<Query> removeQuery = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findAndRemove(removeQuery.capture(), eq(MediaBlob.class));
+        // Only removed if nobody acquired it again in between
+        assertEquals(new Document("$lte", 0), removeQuery.getValue().getQueryObject().get("refCount"));
+    }
+
+    @Test
+    void releaseOfUnknownBlobDoesNothing() {
+        assertNull(mediaBlobService.release(HASH));
+        verify(mongoTemplate, never()).findAndRemove(any(Query.class), eq(MediaBlob.class));
+    }
+
+    private static MediaBlob blob(long refCount) {
+        MediaBlob blob = new MediaBlob();
+        blob.setSha256(HASH);
+        blob.setBlobId("blob-1");
+        blob.setRefCount(refCount);
+        return blob;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.backend.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MediaStreamingServiceTest {
+    private static final long LENGTH = 1000;
+
+    private final MediaStreamingService service = new MediaStreamingService(null, null, null, null);
+
+    @Test
+    void noRangeSendsEverything() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long[] range = writeHeaders(null, response);
+
+        assertArrayEquals(new long[] { 0, LENGTH }, range);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(LENGTH, response.getContentLengthLong());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void closedRange() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long[] range = writeHeaders("bytes=100-199", response);
+
+        assertArrayEquals(new long[] { 100, 100 }, range);
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(100, response.getContentLengthLong());
+    }
+
+    @Test
+    void openEndedRangeRunsToTheEnd() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertArrayEquals(new long[] { 900, 100 }, writeHeaders("bytes=900-", response));
+        assertEquals("bytes 900-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void endPastTheLengthIsClamped() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertArrayEquals(new long[] { 990, 10 }, writeHeaders("bytes=990-5000", response));
+        assertEquals("bytes 990-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void suffixRangeSendsTheLastBytes() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertArrayEquals(new long[] { 750, 250 }, writeHeaders("bytes=-250", response));
+        assertEquals("bytes 750-999/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void suffixLongerThanTheEntitySendsEverything() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertArrayEquals(new long[] { 0, LENGTH }, writeHeaders("bytes=-5000", response));
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsUnsatisfiable() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(writeHeaders("bytes=1000-", response));
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void unparseableRangeIsIgnored() {
+        for (String header : new String[] { "bytes=abc", "items=0-10", "bytes=200-100", "garbage" }) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            assertArrayEquals(new long[] { 0, LENGTH }, writeHeaders(header, response), header);
+            assertEquals(HttpServletResponse.SC_OK, response.getStatus(), header);
+            assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE), header);
+        }
+    }
+
+    @Test
+    void multipleRangesSendEverything() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertArrayEquals(new long[] { 0, LENGTH }, writeHeaders("bytes=0-9,20-29", response));
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    }
+
+    @Test
+    void etagMakesTheResponseImmutable() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.writeHeaders(new MockHttpServletRequest(), response, "image/png", LENGTH, "\"abc\"");
+
+        assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("max-age=31536000, public, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    private long[] writeHeaders(String rangeHeader, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/media/1");
+        if (rangeHeader != null) {
+            request.addHeader(HttpHeaders.RANGE, rangeHeader);
+        }
+        return service.writeHeaders(request, response, "video/mp4", LENGTH, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Post;
+import com.example.backend.model.PostResponse;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.UserRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostServiceTest {
+    private static final String POST_ID = "post-1";
+    private static final String USER_ID = "user-1";
+
+    private PostRepository postRepository;
+    private MongoTemplate mongoTemplate;
+    private ContentVersionService contentVersionService;
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        contentVersionService = mock(ContentVersionService.class);
+        postService = new PostService(postRepository, mock(UserRepository.class), mongoTemplate,
+                mock(AuthorEnrichmentService.class), mock(TimelineService.class), mock(MediaProcessingService.class),
+                mock(UploadSessionService.class), contentVersionService, mock(ThreadPoolTaskExecutor.class));
+    }
+
+    @Test
+    void editDoesNotResetCountersChangedSinceTheRead() {
+        // The copy read for the ownership check predates a like and a few comments
+        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post("before", 0, 0, 1)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Post.class))).thenReturn(post("after", 3, 7, 2));
+
+        PostResponse response = postService.updatePost(POST_ID, USER_ID, "after", null);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(Post.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals("after", set.get("content"));
+        assertFalse(set.containsKey("likes"));
+        assertFalse(set.containsKey("commentCount"));
+        assertFalse(set.containsKey("topLevelCommentCount"));
+        assertFalse(set.containsKey("commentPreview"));
+        assertFalse(set.containsKey("version"));
+        assertEquals(new Document("version", 1), update.getValue().getUpdateObject().get("$inc"));
+        verify(postRepository, never()).save(any(Post.class));
+
+        assertEquals(3, response.getLikes());
+        assertEquals(7, response.getCommentCount());
+        verify(contentVersionService).postChanged(POST_ID);
+    }
+
+    @Test
+    void editOfPostDeletedMeanwhileFails() {
+        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(post("before", 0, 0, 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> postService.updatePost(POST_ID, USER_ID, "after", null));
+        verify(contentVersionService, never()).postChanged(POST_ID);
+    }
+
+    private static Post post(String content, int likes, long commentCount, long version) {
+        Post post = new Post();
+        post.setId(POST_ID);
+        post.setUserId(USER_ID);
+        post.setContent(content);
+        post.setLikes(likes);
+        post.setCommentCount(commentCount);
+        post.setVersion(version);
+        return post;
+    }
+}
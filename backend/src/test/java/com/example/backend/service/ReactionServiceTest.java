@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Post;
+import com.example.backend.model.Reaction;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactionServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private IndexOperations indexOps;
+    private ContentVersionService contentVersionService;
+    private ReactionService reactionService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        indexOps = mock(IndexOperations.class);
+        contentVersionService = mock(ContentVersionService.class);
+        when(mongoTemplate.indexOps(Reaction.class)).thenReturn(indexOps);
+        reactionService = new ReactionService();
+        ReflectionTestUtils.setField(reactionService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(reactionService, "contentVersionService", contentVersionService);
+    }
+
+    @Test
+    void duplicatesAreRemovedAndLikesRecountedBeforeTheUniqueIndex() {
+        ObjectId kept = new ObjectId();
+        ObjectId duplicate = new ObjectId();
+        Document group = new Document("_id", new Document("userId", "user-1").append("postId", "post-1"))
+                .append("ids", List.of(kept, duplicate))
+                .append("count", 2);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Reaction.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(group), new Document()));
+        when(mongoTemplate.remove(any(Query.class), eq(Reaction.class))).thenReturn(DeleteResult.acknowledged(1));
+        when(mongoTemplate.count(any(Query.class), eq(Reaction.class))).thenReturn(1L);
+
+        reactionService.migrateDuplicateReactions();
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(removed.capture(), eq(Reaction.class));
+        assertEquals(new Document("$in", List.of(duplicate)), removed.getValue().getQueryObject().get("_id"));
+
+        ArgumentCaptor<Update> recount = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), recount.capture(), eq(Post.class));
+        assertEquals(1, ((Document) recount.getValue().getUpdateObject().get("$set")).get("likes"));
+        verify(contentVersionService).postChanged("post-1");
+
+        ArgumentCaptor<Index> index = ArgumentCaptor.forClass(Index.class);
+        InOrder order = inOrder(mongoTemplate, indexOps);
+        order.verify(mongoTemplate).remove(any(Query.class), eq(Reaction.class));
+        order.verify(indexOps).ensureIndex(index.capture());
+        assertTrue(index.getValue().getIndexOptions().getBoolean("unique"));
+        assertEquals(new Document("userId", 1).append("postId", 1), index.getValue().getIndexKeys());
+    }
+
+    @Test
+    void cleanCollectionOnlyEnsuresTheIndex() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Reaction.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+        reactionService.migrateDuplicateReactions();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(Reaction.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Post.class));
+        verify(indexOps).ensureIndex(any(Index.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.backend.service;
+
+import com.example.backend.model.Post;
+import com.example.backend.model.TimelineEntry;
+import com.example.backend.repository.FollowRepository;
+import com.example.backend.repository.PostRepository;
+import com.example.backend.repository.TimelineEntryRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimelineServiceTest {
+    private static final String USER_ID = "user-1";
+
+    private MongoTemplate mongoTemplate;
+    private TimelineEntryRepository timelineEntryRepository;
+    private PostRepository postRepository;
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        timelineEntryRepository = mock(TimelineEntryRepository.class);
+        postRepository = mock(PostRepository.class);
+        FollowRepository followRepository = mock(FollowRepository.class);
+        when(followRepository.findByFollowerId(USER_ID)).thenReturn(List.of());
+        timelineService = new TimelineService(mongoTemplate, followRepository, timelineEntryRepository,
+                postRepository, 60, 100);
+    }
+
+    @Test
+    void emptyTimelineIsRebuiltOnFirstRead() {
+        Post post = post();
+        when(mongoTemplate.find(any(Query.class), eq(TimelineEntry.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new TimelineEntry(USER_ID, post)));
+        when(postRepository.findAllById(anyIterable())).thenReturn(List.of(post));
+
+        List<Post> posts = timelineService.getTimelinePosts(USER_ID, null, 21);
+
+        verify(timelineEntryRepository).deleteByUserId(USER_ID);
+        assertEquals(List.of(post), posts);
+    }
+
+    @Test
+    void emptyTimelineIsRebuiltOnlyOncePerCachePeriod() {
+        when(mongoTemplate.find(any(Query.class), eq(TimelineEntry.class))).thenReturn(List.of());
+
+        assertTrue(timelineService.getTimelinePosts(USER_ID, null, 21).isEmpty());
+        assertTrue(timelineService.getTimelinePosts(USER_ID, null, 21).isEmpty());
+
+        verify(timelineEntryRepository, times(1)).deleteByUserId(USER_ID);
+    }
+
+    @Test
+    void populatedTimelineIsNotRebuilt() {
+        Post post = post();
+        when(mongoTemplate.find(any(Query.class), eq(TimelineEntry.class)))
+                .thenReturn(List.of(new TimelineEntry(USER_ID, post)));
+        when(postRepository.findAllById(anyIterable())).thenReturn(List.of(post));
+
+        timelineService.getTimelinePosts(USER_ID, null, 21);
+
+        verify(timelineEntryRepository, never()).deleteByUserId(USER_ID);
+    }
+
+    private static Post post() {
+        Post post = new Post();
+        post.setId(new ObjectId().toHexString());
+        post.setUserId("author-1");
+        post.setCreatedAt(LocalDateTime.now());
+        return post;
+    }
+}
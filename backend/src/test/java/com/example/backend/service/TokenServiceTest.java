@@ -0,0 +1,93 @@
+package com.example.backend.service;
+
+import com.example.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private TokenRevocationService revocationService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = mock(TokenRevocationService.class);
+        user = new User();
+        user.setId("user-1");
+        user.setRole("ROLE_USER");
+    }
+
+    @Test
+    void verifiesItsOwnToken() {
+        TokenService tokenService = new TokenService(SECRET, 3600, revocationService);
+
+        TokenService.TokenClaims claims = tokenService.verifyToken(tokenService.issueToken(user));
+
+        assertNotNull(claims);
+        assertEquals("user-1", claims.getUserId());
+        assertEquals("ROLE_USER", claims.getRole());
+        assertEquals(3600 * 1000L, claims.getExpiresAt() - claims.getIssuedAt());
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String otherSecret = Base64.getEncoder()
+                .encodeToString("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+        String token = new TokenService(otherSecret, 3600, revocationService).issueToken(user);
+
+        assertNull(new TokenService(SECRET, 3600, revocationService).verifyToken(token));
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        TokenService tokenService = new TokenService(SECRET, 3600, revocationService);
+        String token = tokenService.issueToken(user);
+        String signature = token.substring(token.indexOf('.') + 1);
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("user-1.ROLE_ADMIN.0." + Long.MAX_VALUE).getBytes(StandardCharsets.UTF_8));
+
+        assertNull(tokenService.verifyToken(forgedPayload + "." + signature));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        TokenService tokenService = new TokenService(SECRET, -1, revocationService);
+
+        assertNull(tokenService.verifyToken(tokenService.issueToken(user)));
+    }
+
+    @Test
+    void rejectsRevokedToken() {
+        when(revocationService.isRevoked(eq("user-1"), anyLong())).thenReturn(true);
+        TokenService tokenService = new TokenService(SECRET, 3600, revocationService);
+
+        assertNull(tokenService.verifyToken(tokenService.issueToken(user)));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        when(revocationService.isRevoked(anyString(), anyLong())).thenReturn(false);
+        TokenService tokenService = new TokenService(SECRET, 3600, revocationService);
+
+        assertNull(tokenService.verifyToken(null));
+        assertNull(tokenService.verifyToken(""));
+        assertNull(tokenService.verifyToken("no-separator"));
+        assertNull(tokenService.verifyToken(".signature-only"));
+        assertNull(tokenService.verifyToken("payload-only."));
+        assertNull(tokenService.verifyToken("!!!.???"));
+    }
+}
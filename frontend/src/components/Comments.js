@@ -8,6 +8,8 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
   const [loading, setLoading] = useState(false);
   const [fetchingComments, setFetchingComments] = useState(false);
   const [deletingCommentId, setDeletingCommentId] = useState(null);
+  // Replies are not part of the post's comment list; each thread is loaded on demand
+  const [threads, setThreads] = useState({});
   const user = JSON.parse(localStorage.getItem("user"));
   const isAdmin = user?.role === "ROLE_ADMIN";
 
@@ -25,7 +27,6 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
         );
         // Reverse the comments array to show newest first
         setComments(response.data.reverse());
-        onCommentCountChange?.(response.data.length);
       } catch (error) {
         if (!error.name === "AbortError") {
           console.error("Error fetching comments:", error);
@@ -58,7 +59,8 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
       // Add new comment to the beginning of the array
       const updatedComments = [response.data, ...comments];
       setComments(updatedComments);
-      onCommentCountChange?.(updatedComments.length);
+      // The total comes from the post's commentCount; only report the change
+      onCommentCountChange?.(1);
       setNewComment("");
     } catch (error) {
       console.error("Error creating comment:", error);
@@ -96,7 +98,7 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
 
     try {
       setDeletingCommentId(commentId);
-      await axiosInstance.delete(`/api/comments/${commentId}`, {
+      const response = await axiosInstance.delete(`/api/comments/${commentId}`, {
         params: { 
           userId: user.id,
           isAdmin: isAdminDelete 
@@ -104,7 +106,8 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
       });
       const updatedComments = comments.filter((c) => c.id !== commentId);
       setComments(updatedComments);
-      onCommentCountChange?.(updatedComments.length);
+      // Replies are deleted with the comment and count towards the total
+      onCommentCountChange?.(-(response.data?.removed ?? 1));
     } catch (error) {
       console.error("Error deleting comment:", error);
       alert("Failed to delete comment");
@@ -113,6 +116,27 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
     }
   };
 
+  const toggleReplies = async (commentId) => {
+    if (threads[commentId]) {
+      setThreads(({ [commentId]: _, ...rest }) => rest);
+      return;
+    }
+
+    setThreads((prev) => ({ ...prev, [commentId]: { loading: true, items: [] } }));
+    try {
+      const response = await axiosInstance.get(
+        `/api/comments/${commentId}/thread?limit=50`
+      );
+      setThreads((prev) => ({
+        ...prev,
+        [commentId]: { loading: false, items: response.data.items },
+      }));
+    } catch (error) {
+      console.error("Error fetching replies:", error);
+      setThreads(({ [commentId]: _, ...rest }) => rest);
+    }
+  };
+
   const formatDate = (dateString) => {
     return new Date(dateString).toLocaleString();
   };
@@ -227,6 +251,45 @@ function Comments({ postId, postOwnerId, showInput, onCommentCountChange }) {
                             {comment.content}
                           </p>
                         )}
+
+                        {comment.replyCount > 0 && (
+                          <button
+                            onClick={() => toggleReplies(comment.id)}
+                            className="mt-2 text-xs font-medium text-blue-600 hover:text-blue-700"
+                          >
+                            {threads[comment.id]
+                              ? "Hide replies"
+                              : `View ${comment.replyCount} ${comment.replyCount === 1 ? "reply" : "replies"}`}
+                          </button>
+                        )}
+
+                        {threads[comment.id] && (
+                          <div className="mt-2 space-y-2">
+                            {threads[comment.id].loading ? (
+                              <div className="w-4 h-4 border-2 border-blue-500 border-t-transparent rounded-full animate-spin"></div>
+                            ) : (
+                              threads[comment.id].items.map((reply) => (
+                                <div
+                                  key={reply.id}
+                                  className="border-l-2 border-gray-100 pl-3"
+                                  style={{ marginLeft: `${(reply.depth - 1) * 16}px` }}
+                                >
+                                  <div className="flex items-center gap-2">
+                                    <span className="text-sm font-semibold text-gray-900">
+                                      {reply.userName}
+                                    </span>
+                                    <span className="text-xs text-gray-500">
+                                      {formatDate(reply.createdAt)}
+                                    </span>
+                                  </div>
+                                  <p className="text-sm text-gray-700 leading-relaxed">
+                                    {reply.content}
+                                  </p>
+                                </div>
+                              ))
+                            )}
+                          </div>
+                        )}
                       </div>
                     </div>
 
@@ -17,7 +17,7 @@ function Post({ post, onPostDeleted, onPostUpdated }) {
   const [mediaErrors, setMediaErrors] = useState({});
   const [showComments, setShowComments] = useState(false);
   const [showCommentInput, setShowCommentInput] = useState(false);
-  const [commentCount, setCommentCount] = useState(post.comments?.length || 0);
+  const [commentCount, setCommentCount] = useState(post.commentCount || 0);
   const [isUserAdmin, setIsUserAdmin] = useState(false);
   const [lastRefreshed, setLastRefreshed] = useState(Date.now());
   const [showReportModal, setShowReportModal] = useState(false);
@@ -44,8 +44,13 @@ function Post({ post, onPostDeleted, onPostUpdated }) {
   const getMediaUrl = async (mediaId, originalUrl) => {
     try {
       const mediaType = post.mediaTypes && post.mediaTypes[mediaId];
+      // Ask for a rendition sized to the feed card instead of the full original
+      const params = mediaType?.startsWith("image/")
+        ? { w: Math.round(Math.min(window.innerWidth, 680) * (window.devicePixelRatio || 1)) }
+        : undefined;
      const response = await axiosInstance.get(`/api/media/${mediaId}`, {
         responseType: "blob",
+        params,
       });
 
       if (response.data && response.data.url) {
@@ -106,7 +111,7 @@ function Post({ post, onPostDeleted, onPostUpdated }) {
     try {
      const response = await axiosInstance.get(`/api/posts/${post.id}`);
       if (response.data) {
-        setCommentCount(response.data.comments?.length || 0);
+        setCommentCount(response.data.commentCount || 0);
         onPostUpdated?.(response.data);
         setLastRefreshed(Date.now());
       }
@@ -208,8 +213,8 @@ function Post({ post, onPostDeleted, onPostUpdated }) {
     }
   };
 
-  const handleCommentCountChange = (newCount) => {
-    setCommentCount(newCount);
+  const handleCommentCountChange = (delta) => {
+    setCommentCount((count) => Math.max(count + delta, 0));
   };
 
   const handleReportSuccess = () => {
@@ -9,6 +9,8 @@ function Home() {
   const [posts, setPosts] = useState([]);
   const [filteredPosts, setFilteredPosts] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [user, setUser] = useState(null);
   const [searchQuery, setSearchQuery] = useState("");
   const [sortOption, setSortOption] = useState("newest");
@@ -49,18 +51,11 @@ function Home() {
       const response = await axiosInstance.get("/api/posts");
       console.log("Posts API response:", response.data);
 
-      const processedPosts = response.data.map(post => {
-        if (!post.userName || post.userName === "Deleted User") {
-          if (post.userFirstName || post.userLastName) {
-            post.userName = `${(post.userFirstName || '')} ${(post.userLastName || '')}`.trim();
-
-          }
-        }
-        return post;
-      });
+      const processedPosts = processPosts(response.data.items || []);
 
       setPosts(processedPosts);
       setFilteredPosts(processedPosts);
+      setNextCursor(response.data.nextCursor || null);
     } catch (error) {
       console.error("Error fetching posts:", error);
     } finally {
@@ -68,6 +63,35 @@ function Home() {
     }
   };
 
+  const fetchMorePosts = async () => {
+    if (!nextCursor || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const response = await axiosInstance.get("/api/posts", {
+        params: { cursor: nextCursor },
+      });
+      const morePosts = processPosts(response.data.items || []);
+      setPosts(prevPosts => [...prevPosts, ...morePosts]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error("Error fetching more posts:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const processPosts = (items) => {
+    return items.map(post => {
+      if (!post.userName || post.userName === "Deleted User") {
+        if (post.userFirstName || post.userLastName) {
+          post.userName = `${(post.userFirstName || '')} ${(post.userLastName || '')}`.trim();
+
+        }
+      }
+      return post;
+    });
+  };
+
   useEffect(() => {
     fetchUserData();
     fetchPosts();
@@ -230,6 +254,18 @@ function Home() {
             <p className="text-gray-600">No posts available. Be the first to create a post!</p>
           </div>
         )}
+
+        {nextCursor && (
+          <div className="flex justify-center mt-6">
+            <button
+              onClick={fetchMorePosts}
+              disabled={loadingMore}
+              className="px-6 py-2 rounded-3xl bg-white/80 text-green-700 font-semibold shadow-md hover:bg-white transition-colors duration-200 focus:outline-none focus:ring-2 focus:ring-green-500 disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
       </div>
 
       <style jsx>{`
@@ -13,6 +13,8 @@ function Profile() {
   const [posts, setPosts] = useState([]);
   const [loading, setLoading] = useState(true);
   const [postsLoading, setPostsLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState("");
 
   const isOwnProfile = authUser?.id === userId;
@@ -26,6 +28,7 @@ function Profile() {
     const fetchData = async () => {
       setLoading(true);
       setPostsLoading(true);
+      setNextCursor(null);
       try {
         const userResponse = await axiosInstance.get(
           `/api/users/${userId || authUser.id}`
@@ -37,10 +40,11 @@ function Profile() {
           const postsResponse = await axiosInstance.get(
             `/api/users/${userId || authUser.id}/posts`
           );
-          const sortedPosts = postsResponse.data.sort(
+          const sortedPosts = (postsResponse.data.items || []).sort(
             (a, b) => new Date(b.createdAt) - new Date(a.createdAt)
           );
           setPosts(sortedPosts);
+          setNextCursor(postsResponse.data.nextCursor || null);
         } catch (postError) {
           console.error("Error fetching posts:", postError);
           setPosts([]);
@@ -63,6 +67,24 @@ function Profile() {
     }
   }, [userId, authUser, navigate]);
 
+  const fetchMorePosts = async () => {
+    if (!nextCursor || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const response = await axiosInstance.get(
+        `/api/users/${userId || authUser.id}/posts`,
+        { params: { cursor: nextCursor } }
+      );
+      const morePosts = response.data.items || [];
+      setPosts((prevPosts) => [...prevPosts, ...morePosts]);
+      setNextCursor(response.data.nextCursor || null);
+    } catch (error) {
+      console.error("Error fetching more posts:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handlePostDeleted = (postId) => {
     setPosts(posts.filter((post) => post.id !== postId));
   };
@@ -176,6 +198,18 @@ function Profile() {
             ))}
           </div>
         )}
+
+        {!postsLoading && nextCursor && (
+          <div className="flex justify-center mt-6">
+            <button
+              onClick={fetchMorePosts}
+              disabled={loadingMore}
+              className="px-6 py-2 bg-white text-green-700 font-semibold rounded-md shadow-md hover:bg-gray-50 transition duration-200 disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
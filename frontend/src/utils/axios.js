@@ -19,7 +19,10 @@ axiosInstance.interceptors.request.use(
     try {
       const user = JSON.parse(localStorage.getItem("user"));
 
-      if (user?.email && user?.rawPassword) {
+      if (user?.token) {
+        // Signed token is verified without a password check on the server
+        config.headers.Authorization = `Bearer ${user.token}`;
+      } else if (user?.email && user?.rawPassword) {
         const credentials = btoa(`${user.email}:${user.rawPassword}`);
         config.headers.Authorization = `Basic ${credentials}`;
       }
@@ -30,8 +33,6 @@ axiosInstance.interceptors.request.use(
           ...config.headers,
           Authorization: config.headers.Authorization,
           Accept: "*/*",
-          "Cache-Control": "no-cache",
-          Pragma: "no-cache",
           "X-Requested-With": "XMLHttpRequest",
         };
       }